@@ -0,0 +1,88 @@
+-- =====================================================
+-- Benchmark da busca de pictogramas no modo BANCO (pg_trgm)
+--
+-- Cria um catálogo sintético de 1 milhão de pictogramas numa tabela
+-- separada (bench_pictogramas, mesmo formato de pictogramas) e compara
+-- o LIKE '%termo%' antigo com a consulta por trigramas.
+--
+-- Uso (banco de desenvolvimento, depois de V3__busca_trigram.sql):
+--   psql -h localhost -p 5433 -U postgres -d vox -f benchmark/busca_trigram.sql
+-- =====================================================
+
+\timing on
+
+DROP TABLE IF EXISTS bench_pictogramas;
+
+CREATE TABLE bench_pictogramas (LIKE pictogramas INCLUDING DEFAULTS);
+
+-- Rótulos com acento e sinônimos, combinando ~200 raízes com sufixos numéricos
+INSERT INTO bench_pictogramas (id, label, label_alternativo, cor, tipo, ativo, padrao, ordem, vezes_usado,
+                               pontuacao, categoria_id, criado_em, atualizado_em)
+SELECT g,
+       (ARRAY['Água', 'Cachorro', 'Maçã', 'Pão', 'Brincar', 'Banheiro', 'Escola', 'Feliz', 'Triste', 'Avó'])[1 + g % 10]
+           || ' ' || substr(md5(g::text), 1, 6),
+       (ARRAY['bebida, líquido', 'cão, animal', 'fruta', 'comida, café da manhã', 'jogar, diversão',
+              'privada, xixi', 'aula, professora', 'alegre, contente', 'chorar', 'vovó, família'])[1 + g % 10],
+       'bg-blue-500', 'PADRAO', g % 20 <> 0, g % 100 = 0, 0, (g * 7919) % 1000, 0, 1, now(), now()
+FROM generate_series(1, 1000000) AS g;
+
+CREATE INDEX bench_label_trgm ON bench_pictogramas USING gin (vox_normalizar(label) gin_trgm_ops) WHERE ativo;
+CREATE INDEX bench_label_alternativo_trgm ON bench_pictogramas USING gin (vox_normalizar(label_alternativo) gin_trgm_ops) WHERE ativo;
+ANALYZE bench_pictogramas;
+
+-- Antes: LIKE com curinga no início, sem índice possível (Seq Scan)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_pictogramas p
+WHERE (LOWER(p.label) LIKE '%cachorro 1a%' OR LOWER(p.label_alternativo) LIKE '%cachorro 1a%') AND p.ativo;
+
+-- Depois: mesma consulta de PictogramaRepository.buscarPorLabelOuAlternativo (Bitmap Index Scan)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id
+FROM bench_pictogramas p
+WHERE p.ativo
+  AND (vox_normalizar(p.label) LIKE '%cachorro 1a%'
+    OR vox_normalizar(p.label_alternativo) LIKE '%cachorro 1a%')
+  AND (p.padrao OR p.usuario_id = 42)
+ORDER BY GREATEST(similarity(vox_normalizar(p.label), 'cachorro 1a'),
+                  similarity(coalesce(vox_normalizar(p.label_alternativo), ''), 'cachorro 1a') / 2) DESC,
+         p.vezes_usado DESC, p.id
+LIMIT 21 OFFSET 0;
+
+-- Depois, sem índice: a mesma consulta com os índices desligados na sessão,
+-- para separar o ganho dos índices GIN do custo de vox_normalizar/similarity
+BEGIN;
+SET LOCAL enable_indexscan = off;
+SET LOCAL enable_bitmapscan = off;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id
+FROM bench_pictogramas p
+WHERE p.ativo
+  AND (vox_normalizar(p.label) LIKE '%cachorro 1a%'
+    OR vox_normalizar(p.label_alternativo) LIKE '%cachorro 1a%')
+  AND (p.padrao OR p.usuario_id = 42)
+ORDER BY GREATEST(similarity(vox_normalizar(p.label), 'cachorro 1a'),
+                  similarity(coalesce(vox_normalizar(p.label_alternativo), ''), 'cachorro 1a') / 2) DESC,
+         p.vezes_usado DESC, p.id
+LIMIT 21 OFFSET 0;
+COMMIT;
+
+-- Sem acento na consulta, com acento no rótulo
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id
+FROM bench_pictogramas p
+WHERE p.ativo
+  AND (vox_normalizar(p.label) LIKE '%maca 0%' OR vox_normalizar(p.label_alternativo) LIKE '%maca 0%')
+ORDER BY similarity(vox_normalizar(p.label), 'maca 0') DESC, p.vezes_usado DESC, p.id
+LIMIT 20;
+
+-- Termo curto: início de palavra
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id
+FROM bench_pictogramas p
+WHERE p.ativo
+  AND (vox_normalizar(p.label) LIKE 'ag%' OR vox_normalizar(p.label) LIKE '% ag%'
+    OR vox_normalizar(p.label_alternativo) LIKE 'ag%' OR vox_normalizar(p.label_alternativo) LIKE '% ag%')
+ORDER BY similarity(vox_normalizar(p.label), 'ag') DESC, p.vezes_usado DESC, p.id
+LIMIT 20;
+
+DROP TABLE bench_pictogramas;
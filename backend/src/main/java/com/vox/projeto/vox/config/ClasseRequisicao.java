@@ -0,0 +1,28 @@
+package com.vox.projeto.vox.config;
+
+/**
+ * Classe de prioridade da requisição, usada para escolher o pool de
+ * conexões (ver {@link RoteamentoDataSource}).
+ *
+ * INTERATIVA é o padrão: board, toques e mensagens rodam nas threads do
+ * Tomcat. PESADA (relatórios e consultas por período longo) roda só no
+ * {@link ExecutorPesado}, que marca suas threads com esta classe.
+ */
+public enum ClasseRequisicao {
+    INTERATIVA,
+    PESADA;
+
+    private static final ThreadLocal<ClasseRequisicao> ATUAL = ThreadLocal.withInitial(() -> INTERATIVA);
+
+    public static ClasseRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    static void definir(ClasseRequisicao classe) {
+        ATUAL.set(classe);
+    }
+
+    static void limpar() {
+        ATUAL.remove();
+    }
+}
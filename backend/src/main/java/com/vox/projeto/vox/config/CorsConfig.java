@@ -18,6 +18,8 @@ public class CorsConfig {
         config.setAllowedOriginPatterns(List.of("http://localhost:4200"));
         config.setAllowedMethods(List.of("*"));
         config.setAllowedHeaders(List.of("*"));
+        // Lidos pelo app: espera pedida no 429/503 e resposta repetida por Idempotency-Key
+        config.setExposedHeaders(List.of("Retry-After", "Idempotency-Replayed"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
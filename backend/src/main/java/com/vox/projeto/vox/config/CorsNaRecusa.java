@@ -0,0 +1,47 @@
+package com.vox.projeto.vox.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+/**
+ * Cabeçalhos de CORS para as respostas que os limitadores escrevem antes do
+ * CorsFilter do Spring Security. Sem eles o navegador esconde o 429/503 do
+ * app (que vê status 0) e o Retry-After fica ilegível.
+ */
+@Component
+public class CorsNaRecusa {
+
+    private final CorsConfigurationSource corsConfigurationSource;
+
+    public CorsNaRecusa(@Qualifier("corsConfigurationSource") CorsConfigurationSource corsConfigurationSource) {
+        this.corsConfigurationSource = corsConfigurationSource;
+    }
+
+    public void aplicar(HttpServletRequest request, HttpServletResponse response) {
+        String origem = request.getHeader(HttpHeaders.ORIGIN);
+        CorsConfiguration config = corsConfigurationSource.getCorsConfiguration(request);
+        if (origem == null || config == null) {
+            return;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        String permitida = config.checkOrigin(origem);
+        if (permitida == null) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, permitida);
+        if (Boolean.TRUE.equals(config.getAllowCredentials())) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        if (!CollectionUtils.isEmpty(config.getExposedHeaders())) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, String.join(", ", config.getExposedHeaders()));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.vox.projeto.vox.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Um pool Hikari por classe de requisição. O pool pesado é pequeno e tem
+ * espera curta: um relatório longo disputa conexão só com outros
+ * relatórios, nunca com os toques das crianças.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${spring.datasource.driver-class-name}")
+    private String driverClassName;
+
+    @Value("${spring.datasource.hikari.connection-test-query:SELECT 1}")
+    private String connectionTestQuery;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource poolInterativo(
+            @Value("${spring.datasource.hikari.maximum-pool-size:5}") int conexoes,
+            @Value("${spring.datasource.hikari.connection-timeout:PT30S}") Duration esperaConexao) {
+        return criarPool("vox-interativo", conexoes, esperaConexao);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource poolPesado(
+            @Value("${vox.bulkhead.pesada.conexoes:2}") int conexoes,
+            @Value("${vox.bulkhead.pesada.espera-conexao:PT10S}") Duration esperaConexao) {
+        return criarPool("vox-pesado", conexoes, esperaConexao);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource poolInterativo, HikariDataSource poolPesado) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource();
+        roteamento.setTargetDataSources(Map.of(
+                ClasseRequisicao.INTERATIVA, poolInterativo,
+                ClasseRequisicao.PESADA, poolPesado));
+        roteamento.setDefaultTargetDataSource(poolInterativo);
+        return roteamento;
+    }
+
+    private HikariDataSource criarPool(String nome, int conexoes, Duration esperaConexao) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(nome);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName(driverClassName);
+        config.setConnectionTestQuery(connectionTestQuery);
+        config.setAutoCommit(true);
+        config.setMaximumPoolSize(conexoes);
+        config.setConnectionTimeout(esperaConexao.toMillis());
+        return new HikariDataSource(config);
+    }
+}
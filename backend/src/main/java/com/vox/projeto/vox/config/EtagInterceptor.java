@@ -0,0 +1,70 @@
+package com.vox.projeto.vox.config;
+
+import com.vox.projeto.vox.service.VersaoDadosService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * GET condicional pela versão dos dados do usuário.
+ * A ETag é calculada antes do controller: se bater com If-None-Match,
+ * responde 304 sem chegar ao service (nenhuma consulta JPA).
+ */
+@Component
+@RequiredArgsConstructor
+public class EtagInterceptor implements HandlerInterceptor {
+
+    private static final String USUARIO_HEADER = "Usuario-Id";
+
+    private final VersaoDadosService versaoDadosService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        Long usuarioId = lerUsuarioId(request);
+        if (usuarioId == null) {
+            return true;
+        }
+
+        // Calculada antes da leitura: se uma escrita entrar no meio, a próxima
+        // requisição recebe ETag nova e baixa de novo (nunca fica dado velho com ETag nova)
+        String etag = versaoDadosService.etag(usuarioId);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, USUARIO_HEADER);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && contem(ifNoneMatch, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+
+        return true;
+    }
+
+    private Long lerUsuarioId(HttpServletRequest request) {
+        try {
+            String valor = request.getHeader(USUARIO_HEADER);
+            return valor != null ? Long.valueOf(valor.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean contem(String ifNoneMatch, String etag) {
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package com.vox.projeto.vox.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead da classe pesada: poucas threads e fila curta. Os controllers de
+ * relatório devolvem o CompletableFuture, liberando a thread do Tomcat na
+ * hora; com a fila cheia a submissão falha com TaskRejectedException (503).
+ */
+@Component
+@Slf4j
+public class ExecutorPesado {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration periodoLongo;
+
+    public ExecutorPesado(MeterRegistry meterRegistry,
+                          @Value("${vox.bulkhead.pesada.threads:2}") int threads,
+                          @Value("${vox.bulkhead.pesada.fila:20}") int fila,
+                          @Value("${vox.bulkhead.periodo-longo:P7D}") Duration periodoLongo) {
+        this.periodoLongo = periodoLongo;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("vox-pesado-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setTaskDecorator(tarefa -> () -> {
+            ClasseRequisicao.definir(ClasseRequisicao.PESADA);
+            try {
+                tarefa.run();
+            } finally {
+                ClasseRequisicao.limpar();
+            }
+        });
+        executor.initialize();
+
+        Gauge.builder("vox.bulkhead.pesada.fila", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Consultas pesadas aguardando thread")
+                .register(meterRegistry);
+        Gauge.builder("vox.bulkhead.pesada.ativas", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Consultas pesadas em execução")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> executar(Supplier<T> consulta) {
+        return CompletableFuture.supplyAsync(consulta, executor);
+    }
+
+    /**
+     * Consultas por período: só as mais longas que vox.bulkhead.periodo-longo
+     * vão para o bulkhead; as curtas rodam na própria thread da requisição.
+     */
+    public <T> CompletableFuture<T> executarPeriodo(LocalDateTime inicio, LocalDateTime fim, Supplier<T> consulta) {
+        if (Duration.between(inicio, fim).compareTo(periodoLongo) <= 0) {
+            return CompletableFuture.completedFuture(consulta.get());
+        }
+        return executar(consulta);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        log.info("Encerrando executor de consultas pesadas");
+        executor.shutdown();
+    }
+}
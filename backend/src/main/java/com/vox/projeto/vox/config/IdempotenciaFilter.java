@@ -0,0 +1,185 @@
+package com.vox.projeto.vox.config;
+
+import com.vox.projeto.vox.service.IdempotenciaService;
+import com.vox.projeto.vox.service.IdempotenciaService.Reserva;
+import com.vox.projeto.vox.service.IdempotenciaService.Resposta;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Honra o header Idempotency-Key nos POSTs que o app repete quando a rede
+ * falha. A primeira requisição executa normalmente e sua resposta de sucesso
+ * fica registrada; repetições com a mesma chave recebem a mesma resposta
+ * (com Idempotency-Replayed: true) sem executar o controller de novo.
+ *
+ * Nos toques a chave fica só em memória, para não pôr escritas de volta no
+ * caminho que o write-behind tirou do banco; ao salvar mensagem ela é
+ * gravada na mesma transação da mensagem (ver {@link IdempotenciaService}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    private static final String CHAVE_HEADER = "Idempotency-Key";
+    private static final String REPETIDA_HEADER = "Idempotency-Replayed";
+    private static final String USUARIO_HEADER = "Usuario-Id";
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+    private static final int TAMANHO_MAXIMO_CORPO = 64 * 1024;
+
+    private static final List<String> ROTAS_TOQUE = List.of(
+            "/pictogramas/*/usar",
+            "/api/frases-favoritas/*/usar"
+    );
+    private static final List<String> ROTAS_PERSISTIDAS = List.of(
+            "/api/mensagens"
+    );
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final IdempotenciaService idempotenciaService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(CHAVE_HEADER) == null) {
+            return true;
+        }
+
+        return !atende(ROTAS_TOQUE, request) && !atende(ROTAS_PERSISTIDAS, request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String chave = request.getHeader(CHAVE_HEADER).trim();
+        if (chave.isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+
+        // A mesma chave em outra rota ou de outro usuário é outra operação
+        String usuario = request.getHeader(USUARIO_HEADER);
+        String escopo = "POST " + request.getServletPath() + " " + (usuario != null ? usuario.trim() : "-");
+
+        if (atende(ROTAS_TOQUE, request)) {
+            executarToque(escopo, chave, request, response, chain);
+        } else {
+            executarPersistida(escopo, chave, request, response, chain);
+        }
+    }
+
+    private void executarToque(String escopo, String chave, HttpServletRequest request, HttpServletResponse response,
+                               FilterChain chain) throws ServletException, IOException {
+        Reserva reserva = idempotenciaService.reservarToque(escopo, chave);
+        if (!reserva.reservada()) {
+            responderRepeticao(reserva, escopo, chave, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean concluida = false;
+        try {
+            chain.doFilter(request, wrapper);
+
+            Resposta resposta = registravel(wrapper);
+            if (resposta != null) {
+                idempotenciaService.concluirToque(escopo, chave, resposta);
+                concluida = true;
+            }
+        } finally {
+            if (!concluida) {
+                idempotenciaService.liberarToque(escopo, chave);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void executarPersistida(String escopo, String chave, HttpServletRequest request,
+                                    HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            Reserva reserva = idempotenciaService.executarRegistrando(escopo, chave, () -> {
+                try {
+                    chain.doFilter(request, wrapper);
+                } catch (ServletException | IOException e) {
+                    throw new FalhaNaCadeia(e);
+                }
+                return Optional.ofNullable(registravel(wrapper));
+            });
+            if (!reserva.reservada()) {
+                responderRepeticao(reserva, escopo, chave, response);
+                return;
+            }
+        } catch (FalhaNaCadeia e) {
+            if (e.getCause() instanceof ServletException servletException) {
+                throw servletException;
+            }
+            throw (IOException) e.getCause();
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // Só respostas de sucesso são repetidas; erro desfaz a reserva e o cliente pode tentar de novo
+    private static Resposta registravel(ContentCachingResponseWrapper wrapper) {
+        byte[] corpo = wrapper.getContentAsByteArray();
+        int status = wrapper.getStatus();
+        if (status < 200 || status >= 300 || corpo.length > TAMANHO_MAXIMO_CORPO) {
+            return null;
+        }
+        return new Resposta(status, wrapper.getContentType(), new String(corpo, StandardCharsets.UTF_8));
+    }
+
+    private void responderRepeticao(Reserva reserva, String escopo, String chave, HttpServletResponse response)
+            throws IOException {
+        if (reserva.resposta().isPresent()) {
+            log.info("{} - Repetindo resposta da Idempotency-Key {}", escopo, chave);
+            repetir(reserva.resposta().get(), response);
+        } else {
+            response.sendError(HttpServletResponse.SC_CONFLICT,
+                    "Requisição com esta Idempotency-Key ainda em processamento");
+        }
+    }
+
+    private boolean atende(List<String> rotas, HttpServletRequest request) {
+        String caminho = request.getServletPath();
+        return rotas.stream().anyMatch(rota -> matcher.match(rota, caminho));
+    }
+
+    private void repetir(Resposta resposta, HttpServletResponse response) throws IOException {
+        response.setStatus(resposta.status());
+        response.setHeader(REPETIDA_HEADER, "true");
+        if (resposta.contentType() != null) {
+            response.setContentType(resposta.contentType());
+        }
+        if (resposta.corpo() != null && !resposta.corpo().isEmpty()) {
+            byte[] corpo = resposta.corpo().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(corpo.length);
+            response.getOutputStream().write(corpo);
+        }
+    }
+
+    /** Leva a exceção checada da cadeia de filtros para fora da transação. */
+    private static final class FalhaNaCadeia extends RuntimeException {
+
+        FalhaNaCadeia(Exception causa) {
+            super(causa);
+        }
+    }
+}
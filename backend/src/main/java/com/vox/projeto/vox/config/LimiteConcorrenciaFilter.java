@@ -0,0 +1,105 @@
+package com.vox.projeto.vox.config;
+
+import com.vox.projeto.vox.util.LimiteAdaptativo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Limita quantas requisições ficam em execução ao mesmo tempo, com o limite
+ * ajustado pela latência (ver {@link LimiteAdaptativo}). Quando o Postgres
+ * desacelera o limite encolhe e o excesso recebe 503 na hora, em vez de
+ * esperar no connectionTimeout do Hikari e atrasar todo mundo. A recusa sai
+ * antes do CorsFilter, então leva os cabeçalhos de CORS via {@link CorsNaRecusa}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final CorsNaRecusa corsNaRecusa;
+    private final boolean habilitado;
+    private final LimiteAdaptativo limite;
+    private final Counter rejeitadas;
+
+    public LimiteConcorrenciaFilter(MeterRegistry meterRegistry,
+                                    CorsNaRecusa corsNaRecusa,
+                                    @Value("${vox.concorrencia.habilitado:true}") boolean habilitado,
+                                    @Value("${vox.concorrencia.inicial:20}") int inicial,
+                                    @Value("${vox.concorrencia.minimo:4}") int minimo,
+                                    @Value("${vox.concorrencia.maximo:200}") int maximo,
+                                    @Value("${vox.concorrencia.tolerancia:1.5}") double tolerancia) {
+        this.corsNaRecusa = corsNaRecusa;
+        this.habilitado = habilitado;
+        this.limite = new LimiteAdaptativo(inicial, minimo, maximo, tolerancia);
+        this.rejeitadas = Counter.builder("vox.concorrencia.rejeitadas")
+                .description("Requisições recusadas com 503 pelo limite de concorrência")
+                .register(meterRegistry);
+        Gauge.builder("vox.concorrencia.limite", limite, LimiteAdaptativo::getLimite)
+                .description("Limite de concorrência atual")
+                .register(meterRegistry);
+        Gauge.builder("vox.concorrencia.em-voo", limite, LimiteAdaptativo::getEmVoo)
+                .description("Requisições em execução")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // O SSE segura a conexão por minutos sem usar o banco; o actuator precisa responder sob carga.
+        // Os relatórios têm bulkhead próprio (ExecutorPesado) e liberam a thread antes de terminar,
+        // então sua latência aqui não significaria nada.
+        String caminho = request.getServletPath();
+        return !habilitado
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || caminho.equals("/api/eventos")
+                || caminho.startsWith("/actuator")
+                || caminho.startsWith("/api/estatisticas/")
+                || caminho.equals("/api/mensagens/estatisticas")
+                || caminho.equals("/api/mensagens/periodo");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        if (!limite.adquirir()) {
+            rejeitadas.increment();
+            log.debug("Limite de concorrência ({}) atingido: {} {}", limite.getLimite(),
+                    request.getMethod(), request.getServletPath());
+            recusar(request, response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limite.liberar(System.nanoTime() - inicio);
+        }
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        corsNaRecusa.aplicar(request, response);
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":503,\"title\":\"Servidor sobrecarregado\","
+                + "\"detail\":\"Servidor sobrecarregado. Tente novamente em instantes\"}");
+    }
+}
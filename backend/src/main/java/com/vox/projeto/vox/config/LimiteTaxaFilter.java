@@ -0,0 +1,203 @@
+package com.vox.projeto.vox.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vox.projeto.vox.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Limite de taxa por usuário e dispositivo, aplicado antes de qualquer
+ * outro filtro ou service: uma requisição acima do limite recebe 429 com
+ * Retry-After sem tocar no banco. Como roda antes do CorsFilter, a recusa
+ * leva os cabeçalhos de CORS via {@link CorsNaRecusa}.
+ *
+ * Cada grupo de rotas tem seu próprio balde por (usuário, dispositivo);
+ * sem Usuario-Id o balde é do IP de origem. O Dispositivo-Origem vem do
+ * cliente, então cada usuário tem no máximo {@code maximo-dispositivos}
+ * baldes próprios: os dispositivos além disso dividem um único balde, e
+ * trocar o header a cada requisição não rende fichas novas. Os baldes
+ * ociosos expiram.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    private static final String USUARIO_HEADER = "Usuario-Id";
+    private static final String DISPOSITIVO_HEADER = "Dispositivo-Origem";
+    private static final int TAMANHO_MAXIMO_DISPOSITIVO = 50;
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+    private static final String OUTROS_DISPOSITIVOS = "*";
+
+    private record Grupo(String nome, HttpMethod metodo, List<String> rotas, int capacidade, double porSegundo) {
+
+        boolean atende(HttpServletRequest request, AntPathMatcher matcher) {
+            return (metodo == null || metodo.matches(request.getMethod()))
+                    && rotas.stream().anyMatch(rota -> matcher.match(rota, request.getServletPath()));
+        }
+    }
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final CorsNaRecusa corsNaRecusa;
+    private final boolean habilitado;
+    private final List<Grupo> grupos;
+    private final Map<String, Counter> rejeitadas;
+    private final Cache<String, TokenBucket> baldes;
+    private final Cache<String, Set<String>> dispositivos;
+    private final int maximoDispositivos;
+
+    public LimiteTaxaFilter(MeterRegistry meterRegistry,
+                            CorsNaRecusa corsNaRecusa,
+                            @Value("${vox.limite.habilitado:true}") boolean habilitado,
+                            @Value("${vox.limite.maximo-baldes:100000}") long maximoBaldes,
+                            @Value("${vox.limite.expiracao:PT10M}") Duration expiracao,
+                            @Value("${vox.limite.maximo-dispositivos:5}") int maximoDispositivos,
+                            @Value("${vox.limite.uso.capacidade:20}") int usoCapacidade,
+                            @Value("${vox.limite.uso.por-segundo:5}") double usoPorSegundo,
+                            @Value("${vox.limite.escrita.capacidade:20}") int escritaCapacidade,
+                            @Value("${vox.limite.escrita.por-segundo:2}") double escritaPorSegundo,
+                            @Value("${vox.limite.leitura.capacidade:60}") int leituraCapacidade,
+                            @Value("${vox.limite.leitura.por-segundo:20}") double leituraPorSegundo) {
+        this.corsNaRecusa = corsNaRecusa;
+        this.habilitado = habilitado;
+        this.maximoDispositivos = maximoDispositivos;
+
+        // A ordem importa: vale o primeiro grupo que atende a requisição
+        this.grupos = List.of(
+                new Grupo("uso", HttpMethod.POST, List.of(
+                        "/pictogramas/*/usar",
+                        "/api/frases-favoritas/*/usar",
+                        "/api/mensagens/*/reutilizar",
+                        "/api/uso/lote"), usoCapacidade, usoPorSegundo),
+                new Grupo("leitura", HttpMethod.GET, List.of(
+                        "/api/**",
+                        "/pictogramas/**",
+                        "/usuarios/**"), leituraCapacidade, leituraPorSegundo),
+                new Grupo("escrita", null, List.of(
+                        "/api/**",
+                        "/pictogramas/**",
+                        "/usuarios/**",
+                        "/auth/**"), escritaCapacidade, escritaPorSegundo)
+        );
+
+        this.rejeitadas = grupos.stream().collect(Collectors.toUnmodifiableMap(Grupo::nome, grupo ->
+                Counter.builder("vox.limite.rejeitadas")
+                        .description("Requisições recusadas com 429 pelo limite de taxa")
+                        .tag("grupo", grupo.nome())
+                        .register(meterRegistry)));
+
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoBaldes)
+                .expireAfterAccess(expiracao)
+                .build();
+        this.dispositivos = Caffeine.newBuilder()
+                .maximumSize(maximoBaldes)
+                .expireAfterAccess(expiracao)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Preflight de CORS e o stream SSE (uma conexão longa) ficam fora
+        return !habilitado
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || matcher.match("/api/eventos", request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Grupo grupo = grupos.stream()
+                .filter(candidato -> candidato.atende(request, matcher))
+                .findFirst()
+                .orElse(null);
+        if (grupo == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long agora = System.nanoTime();
+        TokenBucket balde = baldes.get(chave(grupo, request),
+                chave -> new TokenBucket(grupo.capacidade(), grupo.porSegundo(), agora));
+
+        long espera = balde.consumir(agora);
+        if (espera == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        rejeitadas.get(grupo.nome()).increment();
+        log.debug("Limite de taxa excedido no grupo {}: {} {}", grupo.nome(), request.getMethod(), request.getServletPath());
+        recusar(request, response, espera);
+    }
+
+    private String chave(Grupo grupo, HttpServletRequest request) {
+        String usuario = request.getHeader(USUARIO_HEADER);
+        String dispositivo = request.getHeader(DISPOSITIVO_HEADER);
+
+        String origem = usuario != null && !usuario.isBlank()
+                ? "u:" + usuario.trim()
+                : "ip:" + request.getRemoteAddr();
+        if (dispositivo != null && !dispositivo.isBlank()) {
+            String nome = dispositivo.trim();
+            origem += "|" + dispositivoAdmitido(origem,
+                    nome.length() > TAMANHO_MAXIMO_DISPOSITIVO ? nome.substring(0, TAMANHO_MAXIMO_DISPOSITIVO) : nome);
+        }
+        return grupo.nome() + "|" + origem;
+    }
+
+    /**
+     * O próprio dispositivo se ele já tem balde ou ainda cabe no limite da
+     * origem; senão, o balde compartilhado pelos dispositivos excedentes.
+     */
+    private String dispositivoAdmitido(String origem, String dispositivo) {
+        Set<String> conhecidos = dispositivos.get(origem, chave -> ConcurrentHashMap.newKeySet());
+        if (conhecidos.contains(dispositivo)) {
+            return dispositivo;
+        }
+        synchronized (conhecidos) {
+            if (conhecidos.size() < maximoDispositivos) {
+                conhecidos.add(dispositivo);
+                return dispositivo;
+            }
+        }
+        return OUTROS_DISPOSITIVOS;
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response, long esperaNanos)
+            throws IOException {
+        long segundos = Math.max(1L, (esperaNanos + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO);
+
+        corsNaRecusa.aplicar(request, response);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":429,\"title\":\"Muitas requisições\","
+                + "\"detail\":\"Limite de requisições excedido. Tente novamente em " + segundos + " s\"}");
+    }
+}
@@ -0,0 +1,11 @@
+package com.vox.projeto.vox.config;
+
+/**
+ * Onde a busca de pictogramas por texto é resolvida (vox.busca.modo).
+ */
+public enum ModoBusca {
+    /** Índice invertido em memória (IndiceBuscaService); catálogo cabe no heap. */
+    MEMORIA,
+    /** pg_trgm + unaccent no Postgres; para catálogos grandes demais para o heap. */
+    BANCO
+}
@@ -0,0 +1,15 @@
+package com.vox.projeto.vox.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Entrega a conexão do pool da classe da thread atual. A escolha acontece
+ * quando a transação pega a conexão, então vale para JPA e JdbcTemplate.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ClasseRequisicao.atual();
+    }
+}
@@ -0,0 +1,29 @@
+package com.vox.projeto.vox.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final EtagInterceptor etagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Apenas leituras cujo conteúdo depende só dos dados do próprio usuário
+        registry.addInterceptor(etagInterceptor)
+                .addPathPatterns(
+                        "/api/board",
+                        "/api/categorias",
+                        "/api/categorias/*",
+                        "/api/categorias/*/pictogramas",
+                        "/pictogramas/categoria/*",
+                        "/api/frases-favoritas",
+                        "/api/frases-favoritas/mais-usadas",
+                        "/api/configuracoes"
+                );
+    }
+}
@@ -0,0 +1,31 @@
+package com.vox.projeto.vox.controller;
+
+import com.vox.projeto.vox.dto.BoardDTO;
+import com.vox.projeto.vox.service.BoardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/board")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Board", description = "Board completo do usuário")
+@CrossOrigin(origins = "*")
+public class BoardController {
+
+    private final BoardService boardService;
+
+    @GetMapping
+    @Operation(summary = "Obter board", description = "Retorna todas as categorias disponíveis com seus pictogramas ativos")
+    public ResponseEntity<BoardDTO> obterBoard(
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/board - Obtendo board do usuário: {}", usuarioId);
+        BoardDTO board = boardService.obterBoard(usuarioId);
+        return ResponseEntity.ok(board);
+    }
+}
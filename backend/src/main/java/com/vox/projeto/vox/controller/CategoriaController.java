@@ -1,7 +1,8 @@
 package com.vox.projeto.vox.controller;
 
-import com.vox.projeto.vox.dto.CategoriaComPictogramasDTO;
 import com.vox.projeto.vox.dto.CategoriaDTO;
+import com.vox.projeto.vox.dto.PaginaCursorDTO;
+import com.vox.projeto.vox.dto.PictogramaDTO;
 import com.vox.projeto.vox.service.CategoriaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -46,16 +47,29 @@ public class CategoriaController {
     }
 
     @GetMapping("/{categoriaId}")
-    @Operation(summary = "Buscar categoria com pictogramas", description = "Retorna categoria completa com todos os pictogramas")
-    public ResponseEntity<CategoriaComPictogramasDTO> buscarCategoriaComPictogramas(
+    @Operation(summary = "Buscar categoria", description = "Retorna o cabeçalho da categoria, sem pictogramas")
+    public ResponseEntity<CategoriaDTO> buscarCategoria(
             @PathVariable Long categoriaId,
             @RequestHeader("Usuario-Id") Long usuarioId) {
 
-        log.info("GET /api/categorias/{} - Buscando categoria com pictogramas", categoriaId);
-        CategoriaComPictogramasDTO categoria = categoriaService.buscarComPictogramas(categoriaId, usuarioId);
+        log.info("GET /api/categorias/{} - Buscando categoria", categoriaId);
+        CategoriaDTO categoria = categoriaService.buscarCabecalho(categoriaId, usuarioId);
         return ResponseEntity.ok(categoria);
     }
 
+    @GetMapping("/{categoriaId}/pictogramas")
+    @Operation(summary = "Listar pictogramas da categoria", description = "Lista pictogramas ativos em páginas, usando o cursor retornado na página anterior")
+    public ResponseEntity<PaginaCursorDTO<PictogramaDTO>> listarPictogramas(
+            @PathVariable Long categoriaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/categorias/{}/pictogramas - Listando pictogramas", categoriaId);
+        PaginaCursorDTO<PictogramaDTO> pagina = categoriaService.listarPictogramas(categoriaId, usuarioId, cursor, limite);
+        return ResponseEntity.ok(pagina);
+    }
+
     @PutMapping("/{categoriaId}")
     @Operation(summary = "Atualizar categoria", description = "Atualiza uma categoria personalizada")
     public ResponseEntity<CategoriaDTO> atualizarCategoria(
@@ -0,0 +1,119 @@
+package com.vox.projeto.vox.controller;
+
+import com.vox.projeto.vox.config.ExecutorPesado;
+import com.vox.projeto.vox.dto.UsoHoraDoDiaDTO;
+import com.vox.projeto.vox.dto.UsoPeriodoDTO;
+import com.vox.projeto.vox.dto.UsoPictogramaDTO;
+import com.vox.projeto.vox.service.EstatisticasUsoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Relatórios para terapeutas: todas as consultas rodam no bulkhead pesado
+ * ({@link ExecutorPesado}), com threads e pool de conexões próprios.
+ */
+@RestController
+@RequestMapping("/api/estatisticas/uso")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Estatísticas de uso", description = "Histórico de uso de pictogramas por período")
+@CrossOrigin(origins = "*")
+public class EstatisticasUsoController {
+
+    private final EstatisticasUsoService estatisticasUsoService;
+    private final ExecutorPesado executorPesado;
+
+    @GetMapping("/por-hora")
+    @Operation(summary = "Uso por hora", description = "Total de toques em cada hora do intervalo (máximo de 31 dias)")
+    public CompletableFuture<ResponseEntity<List<UsoPeriodoDTO>>> usoPorHora(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/estatisticas/uso/por-hora - Usuário: {}", usuarioId);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(estatisticasUsoService.usoPorHora(usuarioId, inicio, fim)));
+    }
+
+    @GetMapping("/por-dia")
+    @Operation(summary = "Uso por dia", description = "Total de toques em cada dia do intervalo")
+    public CompletableFuture<ResponseEntity<List<UsoPeriodoDTO>>> usoPorDia(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/estatisticas/uso/por-dia - Usuário: {}", usuarioId);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(estatisticasUsoService.usoPorDia(usuarioId, inicio, fim)));
+    }
+
+    @GetMapping("/por-hora-do-dia")
+    @Operation(summary = "Uso por hora do dia", description = "Distribuição dos toques pelas horas do dia (0 a 23) no intervalo")
+    public CompletableFuture<ResponseEntity<List<UsoHoraDoDiaDTO>>> usoPorHoraDoDia(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/estatisticas/uso/por-hora-do-dia - Usuário: {}", usuarioId);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(estatisticasUsoService.usoPorHoraDoDia(usuarioId, inicio, fim)));
+    }
+
+    @GetMapping("/pictogramas")
+    @Operation(summary = "Uso por pictograma", description = "Pictogramas usados no intervalo, do mais para o menos usado")
+    public CompletableFuture<ResponseEntity<List<UsoPictogramaDTO>>> usoPorPictograma(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/estatisticas/uso/pictogramas - Usuário: {}", usuarioId);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(estatisticasUsoService.usoPorPictograma(usuarioId, inicio, fim)));
+    }
+
+    @GetMapping("/vocabulario")
+    @Operation(summary = "Vocabulário", description = "Pictogramas distintos usados por dia, semana ou mês (estimativa com erro de ~3%)")
+    public CompletableFuture<ResponseEntity<List<UsoPeriodoDTO>>> vocabulario(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "DIA") String periodo,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/estatisticas/uso/vocabulario - Usuário: {}, período: {}", usuarioId, periodo);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(estatisticasUsoService.vocabulario(usuarioId, inicio, fim, periodo)));
+    }
+
+    @GetMapping("/top")
+    @Operation(summary = "Mais usados do usuário", description = "Pictogramas mais usados pelo usuário nos últimos dias (até 90); contagens estimadas")
+    public CompletableFuture<ResponseEntity<List<UsoPictogramaDTO>>> maisUsados(
+            @RequestParam(defaultValue = "7") int dias,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/estatisticas/uso/top - Usuário: {}, {} dias", usuarioId, dias);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(estatisticasUsoService.maisUsadosNaJanela(usuarioId, dias, limite)));
+    }
+
+    @GetMapping("/top/geral")
+    @Operation(summary = "Mais usados no geral", description = "Pictogramas do sistema mais usados por todos os usuários nos últimos dias (até 90); contagens estimadas")
+    public CompletableFuture<ResponseEntity<List<UsoPictogramaDTO>>> maisUsadosGeral(
+            @RequestParam(defaultValue = "7") int dias,
+            @RequestParam(defaultValue = "20") int limite) {
+
+        log.info("GET /api/estatisticas/uso/top/geral - {} dias", dias);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(estatisticasUsoService.maisUsadosNaJanela(null, dias, limite)));
+    }
+}
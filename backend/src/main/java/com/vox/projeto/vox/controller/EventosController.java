@@ -0,0 +1,40 @@
+package com.vox.projeto.vox.controller;
+
+import com.vox.projeto.vox.exception.BusinessException;
+import com.vox.projeto.vox.service.EventosService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/eventos")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Eventos", description = "Notificações em tempo real das alterações do usuário")
+@CrossOrigin(origins = "*")
+public class EventosController {
+
+    private final EventosService eventosService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Assinar eventos", description = "Stream SSE com um evento 'alteracao' a cada escrita confirmada do usuário")
+    public SseEmitter assinar(
+            @RequestHeader(value = "Usuario-Id", required = false) Long usuarioIdHeader,
+            @RequestParam(required = false) Long usuarioId) {
+
+        // EventSource do navegador não envia cabeçalhos customizados
+        if (usuarioIdHeader != null) {
+            usuarioId = usuarioIdHeader;
+        }
+        if (usuarioId == null) {
+            throw new BusinessException("Informe o cabeçalho Usuario-Id");
+        }
+
+        log.info("GET /api/eventos - Conexão aberta para usuário: {}", usuarioId);
+        return eventosService.conectar(usuarioId);
+    }
+}
@@ -47,10 +47,11 @@ public class FraseFavoritaController {
     @GetMapping("/mais-usadas")
     @Operation(summary = "Listar mais usadas", description = "Lista frases favoritas ordenadas por uso")
     public ResponseEntity<List<FraseFavoritaDTO>> listarMaisUsadas(
+            @RequestParam(defaultValue = "10") int limite,
             @RequestHeader("Usuario-Id") Long usuarioId) {
 
-        log.info("GET /api/frases-favoritas/mais-usadas");
-        List<FraseFavoritaDTO> frases = fraseFavoritaService.listarMaisUsadas(usuarioId);
+        log.info("GET /api/frases-favoritas/mais-usadas - Listando {} mais usadas", limite);
+        List<FraseFavoritaDTO> frases = fraseFavoritaService.listarMaisUsadas(usuarioId, limite);
         return ResponseEntity.ok(frases);
     }
 
@@ -1,5 +1,6 @@
 package com.vox.projeto.vox.controller;
 
+import com.vox.projeto.vox.config.ExecutorPesado;
 import com.vox.projeto.vox.dto.EstatisticasDTO;
 import com.vox.projeto.vox.dto.MensagemCreateDTO;
 import com.vox.projeto.vox.dto.MensagemDTO;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/mensagens")
@@ -28,6 +30,7 @@ import java.util.List;
 public class MensagemController {
 
     private final MensagemService mensagemService;
+    private final ExecutorPesado executorPesado;
 
     @PostMapping
     @Operation(summary = "Salvar mensagem", description = "Salva uma nova mensagem no histórico")
@@ -63,14 +66,14 @@ public class MensagemController {
 
     @GetMapping("/periodo")
     @Operation(summary = "Listar por período", description = "Lista mensagens de um período específico")
-    public ResponseEntity<List<MensagemDTO>> listarPorPeriodo(
+    public CompletableFuture<ResponseEntity<List<MensagemDTO>>> listarPorPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
             @RequestHeader("Usuario-Id") Long usuarioId) {
 
         log.info("GET /api/mensagens/periodo - Listando de {} a {}", inicio, fim);
-        List<MensagemDTO> mensagens = mensagemService.listarPorPeriodo(usuarioId, inicio, fim);
-        return ResponseEntity.ok(mensagens);
+        return executorPesado.executarPeriodo(inicio, fim, () ->
+                ResponseEntity.ok(mensagemService.listarPorPeriodo(usuarioId, inicio, fim)));
     }
 
     @PutMapping("/{mensagemId}/favorita")
@@ -97,13 +100,13 @@ public class MensagemController {
 
     @GetMapping("/estatisticas")
     @Operation(summary = "Obter estatísticas", description = "Retorna estatísticas de uso de mensagens")
-    public ResponseEntity<EstatisticasDTO> obterEstatisticas(
+    public CompletableFuture<ResponseEntity<EstatisticasDTO>> obterEstatisticas(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
             @RequestHeader("Usuario-Id") Long usuarioId) {
 
         log.info("GET /api/mensagens/estatisticas - Obtendo estatísticas");
-        EstatisticasDTO stats = mensagemService.obterEstatisticas(usuarioId, inicio, fim);
-        return ResponseEntity.ok(stats);
+        return executorPesado.executar(() ->
+                ResponseEntity.ok(mensagemService.obterEstatisticas(usuarioId, inicio, fim)));
     }
 }
\ No newline at end of file
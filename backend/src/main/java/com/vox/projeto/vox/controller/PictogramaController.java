@@ -1,5 +1,6 @@
 package com.vox.projeto.vox.controller;
 
+import com.vox.projeto.vox.dto.PaginaCursorDTO;
 import com.vox.projeto.vox.dto.PictogramaCreateDTO;
 import com.vox.projeto.vox.dto.PictogramaDTO;
 import com.vox.projeto.vox.exception.ResourceNotFoundException;
@@ -23,6 +24,8 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class PictogramaController {
 
+    private static final int TAMANHO_MAXIMO_DISPOSITIVO = 50;
+
     private final PictogramaService pictogramaService;
 
     @PostMapping
@@ -36,6 +39,28 @@ public class PictogramaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(criado);
     }
 
+    @GetMapping
+    @Operation(summary = "Buscar por ids", description = "Retorna os pictogramas pedidos na mesma ordem dos ids")
+    public ResponseEntity<List<PictogramaDTO>> buscarPorIds(
+            @RequestParam List<Long> ids,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/pictogramas?ids= - Buscando {} pictogramas", ids.size());
+        List<PictogramaDTO> pictogramas = pictogramaService.buscarPorIds(ids, usuarioId);
+        return ResponseEntity.ok(pictogramas);
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Buscar por ids (lote)", description = "Mesmo que GET ?ids=, recebendo os ids no corpo para listas longas")
+    public ResponseEntity<List<PictogramaDTO>> buscarLotePorIds(
+            @RequestBody List<Long> ids,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("POST /api/pictogramas/lote - Buscando {} pictogramas", ids.size());
+        List<PictogramaDTO> pictogramas = pictogramaService.buscarPorIds(ids, usuarioId);
+        return ResponseEntity.ok(pictogramas);
+    }
+
     @GetMapping("/categoria/{categoriaId}")
     @Operation(summary = "Listar por categoria", description = "Lista todos os pictogramas de uma categoria")
     public ResponseEntity<List<PictogramaDTO>> listarPorCategoria(
@@ -68,12 +93,27 @@ public class PictogramaController {
     }
 
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar por texto", description = "Busca pictogramas por label ou alternativo")
-    public ResponseEntity<List<PictogramaDTO>> buscarPorTexto(
-            @RequestParam String termo) {
+    @Operation(summary = "Buscar por texto", description = "Busca pictogramas do sistema e do usuário por label ou alternativo, em páginas (até 50 por página), usando o cursor retornado na página anterior; sem resultado exato, tolera erros de digitação")
+    public ResponseEntity<PaginaCursorDTO<PictogramaDTO>> buscarPorTexto(
+            @RequestParam String termo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/pictogramas/buscar?termo={} - Usuário: {}", termo, usuarioId);
+        PaginaCursorDTO<PictogramaDTO> pagina = pictogramaService.buscarPorTexto(termo, usuarioId, cursor, limite);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping("/autocompletar")
+    @Operation(summary = "Autocompletar", description = "Pictogramas do sistema e do usuário cujo rótulo tem uma palavra começando pelo prefixo, dos mais usados para os menos (até 10)")
+    public ResponseEntity<List<PictogramaDTO>> autocompletar(
+            @RequestParam String prefixo,
+            @RequestParam(defaultValue = "8") int limite,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
 
-        log.info("GET /api/pictogramas/buscar?termo={}", termo);
-        List<PictogramaDTO> pictogramas = pictogramaService.buscarPorTexto(termo);
+        log.debug("GET /api/pictogramas/autocompletar?prefixo={}", prefixo);
+        List<PictogramaDTO> pictogramas = pictogramaService.autocompletar(prefixo, usuarioId, limite);
         return ResponseEntity.ok(pictogramas);
     }
 
@@ -91,10 +131,13 @@ public class PictogramaController {
 
     @PostMapping("/{pictogramaId}/usar")
     @Operation(summary = "Registrar uso", description = "Incrementa contador de uso do pictograma")
-    public ResponseEntity<Void> registrarUso(@PathVariable Long pictogramaId) {
+    public ResponseEntity<Void> registrarUso(
+            @PathVariable Long pictogramaId,
+            @RequestHeader(value = "Usuario-Id", required = false) Long usuarioId,
+            @RequestHeader(value = "Dispositivo-Origem", required = false) String dispositivo) {
 
         log.info("POST /api/pictogramas/{}/usar - Registrando uso", pictogramaId);
-        pictogramaService.registrarUso(pictogramaId);
+        pictogramaService.registrarUso(pictogramaId, usuarioId, normalizarDispositivo(dispositivo));
         return ResponseEntity.ok().build();
     }
 
@@ -108,4 +151,13 @@ public class PictogramaController {
         pictogramaService.desativarPictograma(pictogramaId, usuarioId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // O header vem do cliente; eventos_uso.dispositivo tem 50 caracteres, como o limite de taxa considera
+    private static String normalizarDispositivo(String dispositivo) {
+        if (dispositivo == null || dispositivo.isBlank()) {
+            return null;
+        }
+        String nome = dispositivo.trim();
+        return nome.length() > TAMANHO_MAXIMO_DISPOSITIVO ? nome.substring(0, TAMANHO_MAXIMO_DISPOSITIVO) : nome;
+    }
+}
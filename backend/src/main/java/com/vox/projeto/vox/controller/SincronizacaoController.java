@@ -0,0 +1,32 @@
+package com.vox.projeto.vox.controller;
+
+import com.vox.projeto.vox.dto.SincronizacaoDTO;
+import com.vox.projeto.vox.service.SincronizacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sincronização", description = "Sincronização incremental para uso offline")
+@CrossOrigin(origins = "*")
+public class SincronizacaoController {
+
+    private final SincronizacaoService sincronizacaoService;
+
+    @GetMapping
+    @Operation(summary = "Sincronizar", description = "Retorna categorias, pictogramas, frases e configuração alterados desde o cursor")
+    public ResponseEntity<SincronizacaoDTO> sincronizar(
+            @RequestParam(required = false) String desde,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("GET /api/sync - Sincronizando usuário: {}", usuarioId);
+        SincronizacaoDTO sincronizacao = sincronizacaoService.sincronizar(usuarioId, desde);
+        return ResponseEntity.ok(sincronizacao);
+    }
+}
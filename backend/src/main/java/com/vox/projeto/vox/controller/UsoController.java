@@ -0,0 +1,34 @@
+package com.vox.projeto.vox.controller;
+
+import com.vox.projeto.vox.dto.UsoLoteDTO;
+import com.vox.projeto.vox.dto.UsoLoteResultadoDTO;
+import com.vox.projeto.vox.service.UsoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/uso")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Uso", description = "Registro em lote dos usos feitos no dispositivo")
+@CrossOrigin(origins = "*")
+public class UsoController {
+
+    private final UsoService usoService;
+
+    @PostMapping("/lote")
+    @Operation(summary = "Registrar usos em lote", description = "Aplica de uma vez os usos de pictogramas, frases e mensagens acumulados no dispositivo")
+    public ResponseEntity<UsoLoteResultadoDTO> registrarLote(
+            @Valid @RequestBody UsoLoteDTO lote,
+            @RequestHeader("Usuario-Id") Long usuarioId) {
+
+        log.info("POST /api/uso/lote - {} eventos do usuário: {}", lote.getEventos().size(), usuarioId);
+        UsoLoteResultadoDTO resultado = usoService.registrarLote(lote, usuarioId);
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vox.projeto.vox.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardDTO {
+
+    private Long usuarioId;
+    private List<CategoriaComPictogramasDTO> categorias;
+    private LocalDateTime geradoEm;
+}
@@ -13,4 +13,5 @@ public class EstatisticasDTO {
 
     private Long totalMensagens;
     private Long mensagensNoPeriodo;
+    private Long pictogramasDistintosNoPeriodo; // Estimativa (HyperLogLog, erro de ~3%)
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.vox.projeto.vox.dto;
+
+import com.vox.projeto.vox.event.EntidadeAlterada;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoAlteracaoDTO {
+
+    private EntidadeAlterada entidade;
+    private Long id;
+}
@@ -0,0 +1,24 @@
+package com.vox.projeto.vox.dto;
+
+import com.vox.projeto.vox.entity.TipoUso;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoUsoDTO {
+
+    @NotNull(message = "Tipo é obrigatório")
+    private TipoUso tipo;
+
+    @NotNull(message = "ID é obrigatório")
+    private Long id;
+
+    @NotNull(message = "Data do uso é obrigatória")
+    private LocalDateTime ocorridoEm;
+}
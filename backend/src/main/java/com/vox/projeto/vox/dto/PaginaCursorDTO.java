@@ -0,0 +1,16 @@
+package com.vox.projeto.vox.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaCursorDTO<T> {
+
+    private List<T> itens;
+    private String proximoCursor; // null = última página
+}
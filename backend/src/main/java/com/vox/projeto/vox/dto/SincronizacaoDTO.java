@@ -0,0 +1,23 @@
+package com.vox.projeto.vox.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Alterações do usuário desde o último cursor. Linhas desativadas
+ * vêm com ativa/ativo = false para o dispositivo removê-las localmente.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SincronizacaoDTO {
+
+    private List<CategoriaDTO> categorias;
+    private List<PictogramaDTO> pictogramas;
+    private List<FraseFavoritaDTO> frasesFavoritas;
+    private ConfiguracaoUsuarioDTO configuracao;
+    private String proximoCursor;
+}
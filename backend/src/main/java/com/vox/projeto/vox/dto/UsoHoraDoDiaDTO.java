@@ -0,0 +1,14 @@
+package com.vox.projeto.vox.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsoHoraDoDiaDTO {
+
+    private Integer hora;
+    private Long quantidade;
+}
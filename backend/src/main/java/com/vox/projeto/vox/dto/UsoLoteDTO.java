@@ -0,0 +1,23 @@
+package com.vox.projeto.vox.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsoLoteDTO {
+
+    @NotEmpty(message = "Informe ao menos um evento")
+    @Size(max = 1000, message = "Máximo de 1000 eventos por lote")
+    private List<@Valid EventoUsoDTO> eventos;
+
+    @Size(max = 50)
+    private String dispositivo;
+}
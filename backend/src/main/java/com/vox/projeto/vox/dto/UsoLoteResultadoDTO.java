@@ -0,0 +1,16 @@
+package com.vox.projeto.vox.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsoLoteResultadoDTO {
+
+    private int aceitos;
+    private List<EventoUsoDTO> rejeitados;
+}
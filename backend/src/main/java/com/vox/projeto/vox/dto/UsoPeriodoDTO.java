@@ -0,0 +1,16 @@
+package com.vox.projeto.vox.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsoPeriodoDTO {
+
+    private LocalDateTime inicio;
+    private Long quantidade;
+}
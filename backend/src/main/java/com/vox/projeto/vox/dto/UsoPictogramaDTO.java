@@ -0,0 +1,15 @@
+package com.vox.projeto.vox.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsoPictogramaDTO {
+
+    private Long pictogramaId;
+    private String label;
+    private Long quantidade;
+}
@@ -2,7 +2,11 @@ package com.vox.projeto.vox.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,8 +16,11 @@ import java.util.List;
 @Entity
 @Table(name = "categorias", indexes = {
         @Index(name = "idx_categoria_usuario", columnList = "usuario_id"),
-        @Index(name = "idx_categoria_ativa", columnList = "ativa")
+        @Index(name = "idx_categoria_ativa", columnList = "ativa"),
+        @Index(name = "idx_categoria_usuario_atualizado", columnList = "usuario_id, atualizado_em")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +56,14 @@ public class Categoria {
     @Builder.Default
     private Integer ordem = 0; // Para ordenação customizada
 
+    // Pictogramas ativos do mesmo dono da categoria. Só os UPDATEs atômicos de
+    // CategoriaRepository escrevem a coluna: salvar a entidade não devolve ao
+    // banco um valor antigo lido antes de um incremento concorrente.
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer quantidadePictogramas = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private Usuario usuario; // null = categoria padrão do sistema
@@ -57,11 +72,11 @@ public class Categoria {
     @Builder.Default
     private List<Pictograma> pictogramas = new ArrayList<>();
 
-    @CreationTimestamp
+    @CreationTimestamp(source = SourceType.DB)
     @Column(nullable = false, updatable = false)
     private LocalDateTime criadoEm;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(nullable = false)
     private LocalDateTime atualizadoEm;
 
@@ -0,0 +1,46 @@
+package com.vox.projeto.vox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta registrada para uma Idempotency-Key. A linha é inserida no início
+ * da transação da requisição e recebe a resposta antes do commit, então só
+ * fica visível junto com a escrita que a produziu. A restrição única impede
+ * que duas instâncias processem a mesma chave ao mesmo tempo.
+ */
+@Entity
+@Table(name = "chaves_idempotencia",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chave_idempotencia", columnNames = {"escopo", "chave"}),
+        indexes = @Index(name = "idx_chave_idempotencia_criado_em", columnList = "criado_em"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChaveIdempotencia {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Método, rota e usuário da requisição original. */
+    @Column(nullable = false, length = 200)
+    private String escopo;
+
+    @Column(nullable = false, length = 100)
+    private String chave;
+
+    private Integer status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(columnDefinition = "TEXT")
+    private String corpo;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+}
@@ -2,6 +2,7 @@ package com.vox.projeto.vox.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -72,7 +73,7 @@ public class ConfiguracaoUsuario {
     @Builder.Default
     private Boolean permitirRelatorios = true;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(nullable = false)
     private LocalDateTime atualizadoEm;
 }
\ No newline at end of file
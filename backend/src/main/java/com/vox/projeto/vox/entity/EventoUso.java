@@ -0,0 +1,40 @@
+package com.vox.projeto.vox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro append-only de cada toque em pictograma. Só recebe INSERTs em
+ * lote (ver RegistroUsoService); leituras por período usam os agregados
+ * UsoPorHora/UsoPorDia, então a tabela não tem índices além da chave.
+ */
+@Entity
+@Table(name = "eventos_uso")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoUso {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "pictograma_id", nullable = false)
+    private Long pictogramaId;
+
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(length = 50)
+    private String dispositivo;
+
+    @Column(name = "ocorrido_em", nullable = false)
+    private LocalDateTime ocorridoEm;
+}
@@ -1,16 +1,22 @@
 package com.vox.projeto.vox.entity;
 
+import com.vox.projeto.vox.util.PontuacaoUso;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "frases_favoritas", indexes = {
         @Index(name = "idx_frase_usuario", columnList = "usuario_id"),
-        @Index(name = "idx_frase_ativa", columnList = "ativa")
+        @Index(name = "idx_frase_ativa", columnList = "ativa"),
+        @Index(name = "idx_frase_usuario_atualizado", columnList = "usuario_id, atualizado_em"),
+        @Index(name = "idx_frase_usuario_pontuacao", columnList = "usuario_id, ativa, pontuacao DESC")
 })
 @Getter
 @Setter
@@ -44,19 +50,25 @@ public class FraseFavorita {
     @Builder.Default
     private Integer vezesUsada = 0;
 
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Double pontuacao = 0.0; // Uso recente pesa mais (ver PontuacaoUso)
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
 
-    @CreationTimestamp
+    @CreationTimestamp(source = SourceType.DB)
     @Column(nullable = false, updatable = false)
     private LocalDateTime criadoEm;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(nullable = false)
     private LocalDateTime atualizadoEm;
 
     public void incrementarUso() {
         this.vezesUsada++;
+        this.pontuacao = PontuacaoUso.somar(this.pontuacao, PontuacaoUso.expoente(Instant.now(), 1));
     }
 }
\ No newline at end of file
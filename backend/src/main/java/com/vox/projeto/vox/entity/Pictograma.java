@@ -2,7 +2,11 @@ package com.vox.projeto.vox.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -10,9 +14,14 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "pictogramas", indexes = {
         @Index(name = "idx_pictograma_categoria", columnList = "categoria_id"),
+        @Index(name = "idx_pictograma_categoria_ordem", columnList = "categoria_id, ativo, ordem, id"),
         @Index(name = "idx_pictograma_usuario", columnList = "usuario_id"),
-        @Index(name = "idx_pictograma_ativo", columnList = "ativo")
+        @Index(name = "idx_pictograma_ativo", columnList = "ativo"),
+        @Index(name = "idx_pictograma_usuario_atualizado", columnList = "usuario_id, atualizado_em"),
+        @Index(name = "idx_pictograma_usuario_pontuacao", columnList = "usuario_id, ativo, pontuacao DESC")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -60,6 +69,11 @@ public class Pictograma {
     @Builder.Default
     private Integer vezesUsado = 0; // Contador de uso para analytics
 
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Double pontuacao = 0.0; // Uso recente pesa mais (ver PontuacaoUso)
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id", nullable = false)
     private Categoria categoria;
@@ -68,11 +82,11 @@ public class Pictograma {
     @JoinColumn(name = "usuario_id")
     private Usuario usuario; // null = pictograma padrão do sistema
 
-    @CreationTimestamp
+    @CreationTimestamp(source = SourceType.DB)
     @Column(nullable = false, updatable = false)
     private LocalDateTime criadoEm;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(nullable = false)
     private LocalDateTime atualizadoEm;
 
@@ -0,0 +1,7 @@
+package com.vox.projeto.vox.entity;
+
+public enum TipoUso {
+    PICTOGRAMA,
+    FRASE_FAVORITA,
+    MENSAGEM
+}
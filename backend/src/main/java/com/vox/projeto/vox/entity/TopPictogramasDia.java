@@ -0,0 +1,24 @@
+package com.vox.projeto.vox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Resumo Space-Saving dos pictogramas mais usados em um dia
+ * (ver {@link com.vox.projeto.vox.util.SpaceSaving}).
+ */
+@Entity
+@Table(name = "top_pictogramas_dia")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TopPictogramasDia {
+
+    @EmbeddedId
+    private UsuarioDiaId id;
+
+    @Column(nullable = false)
+    private byte[] resumo;
+}
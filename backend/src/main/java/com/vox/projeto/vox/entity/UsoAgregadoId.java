@@ -0,0 +1,26 @@
+package com.vox.projeto.vox.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UsoAgregadoId implements Serializable {
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private LocalDateTime inicio; // Início da hora ou do dia
+
+    @Column(name = "pictograma_id", nullable = false)
+    private Long pictogramaId;
+}
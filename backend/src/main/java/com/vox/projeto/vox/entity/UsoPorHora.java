@@ -0,0 +1,22 @@
+package com.vox.projeto.vox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "uso_por_hora", indexes = {
+        @Index(name = "idx_uso_por_hora_usuario_inicio", columnList = "usuario_id, inicio")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsoPorHora {
+
+    @EmbeddedId
+    private UsoAgregadoId id;
+
+    @Column(nullable = false)
+    private Long quantidade;
+}
@@ -0,0 +1,23 @@
+package com.vox.projeto.vox.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UsuarioDiaId implements Serializable {
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId; // 0 = todos os usuários (apenas em TopPictogramasDia)
+
+    @Column(nullable = false)
+    private LocalDate dia;
+}
@@ -0,0 +1,24 @@
+package com.vox.projeto.vox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Sketch HyperLogLog dos pictogramas distintos usados por um usuário em um dia
+ * (ver {@link com.vox.projeto.vox.util.HyperLogLog}).
+ */
+@Entity
+@Table(name = "vocabulario_dia")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VocabularioDia {
+
+    @EmbeddedId
+    private UsuarioDiaId id;
+
+    @Column(nullable = false)
+    private byte[] sketch;
+}
@@ -0,0 +1,11 @@
+package com.vox.projeto.vox.event;
+
+/**
+ * Publicado pelos services a cada escrita nos dados de um usuário.
+ * Os ouvintes recebem o evento somente após o commit da transação.
+ */
+public record AlteracaoDadosEvent(
+        Long usuarioId,
+        EntidadeAlterada entidade,
+        Long entidadeId
+) {}
@@ -0,0 +1,12 @@
+package com.vox.projeto.vox.event;
+
+public enum EntidadeAlterada {
+    CATEGORIA,
+    PICTOGRAMA,
+    FRASE_FAVORITA,
+    CONFIGURACAO;
+
+    public boolean afetaBoard() {
+        return this == CATEGORIA || this == PICTOGRAMA;
+    }
+}
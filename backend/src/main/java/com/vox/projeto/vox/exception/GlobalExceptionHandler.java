@@ -1,6 +1,8 @@
 package com.vox.projeto.vox.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -147,6 +149,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * 503 - Fila de consultas pesadas cheia
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(
+            TaskRejectedException ex, WebRequest request) {
+
+        log.warn("Consulta pesada recusada: fila cheia");
+
+        ErrorResponse error = buildErrorResponse(
+                ex,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Servidor ocupado",
+                "Muitos relatórios em processamento. Tente novamente em instantes.",
+                extractPath(request)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+
     /**
      * 500 - Erros não tratados
      */
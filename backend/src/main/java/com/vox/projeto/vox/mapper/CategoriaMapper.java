@@ -2,6 +2,7 @@ package com.vox.projeto.vox.mapper;
 
 import com.vox.projeto.vox.dto.CategoriaDTO;
 import com.vox.projeto.vox.entity.Categoria;
+import com.vox.projeto.vox.repository.projection.CategoriaResumo;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -22,12 +23,29 @@ public class CategoriaMapper {
                 .padrao(entity.getPadrao())
                 .ordem(entity.getOrdem())
                 .usuarioId(entity.getUsuario() != null ? entity.getUsuario().getId() : null)
-                .quantidadePictogramas(entity.getPictogramas() != null ? entity.getPictogramas().size() : 0)
+                .quantidadePictogramas(entity.getQuantidadePictogramas())
                 .criadoEm(entity.getCriadoEm())
                 .atualizadoEm(entity.getAtualizadoEm())
                 .build();
     }
 
+    public CategoriaDTO toDTO(CategoriaResumo resumo) {
+        return CategoriaDTO.builder()
+                .id(resumo.id())
+                .nome(resumo.nome())
+                .descricao(resumo.descricao())
+                .cor(resumo.cor())
+                .icone(resumo.icone())
+                .ativa(resumo.ativa())
+                .padrao(resumo.padrao())
+                .ordem(resumo.ordem())
+                .usuarioId(resumo.usuarioId())
+                .quantidadePictogramas(resumo.quantidadePictogramas())
+                .criadoEm(resumo.criadoEm())
+                .atualizadoEm(resumo.atualizadoEm())
+                .build();
+    }
+
     public Categoria toEntity(CategoriaDTO dto) {
         if (dto == null) {
             return null;
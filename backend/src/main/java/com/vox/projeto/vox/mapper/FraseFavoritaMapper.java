@@ -2,6 +2,7 @@ package com.vox.projeto.vox.mapper;
 
 import com.vox.projeto.vox.dto.FraseFavoritaDTO;
 import com.vox.projeto.vox.entity.FraseFavorita;
+import com.vox.projeto.vox.repository.projection.FraseFavoritaResumo;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -26,6 +27,21 @@ public class FraseFavoritaMapper {
                 .build();
     }
 
+    public FraseFavoritaDTO toDTO(FraseFavoritaResumo resumo) {
+        return FraseFavoritaDTO.builder()
+                .id(resumo.id())
+                .titulo(resumo.titulo())
+                .conteudoJson(resumo.conteudoJson())
+                .textoCompleto(resumo.textoCompleto())
+                .ativa(resumo.ativa())
+                .ordem(resumo.ordem())
+                .vezesUsada(resumo.vezesUsada())
+                .usuarioId(resumo.usuarioId())
+                .criadoEm(resumo.criadoEm())
+                .atualizadoEm(resumo.atualizadoEm())
+                .build();
+    }
+
     public FraseFavorita toEntity(FraseFavoritaDTO dto) {
         if (dto == null) {
             return null;
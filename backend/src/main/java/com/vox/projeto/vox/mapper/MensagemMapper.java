@@ -2,6 +2,7 @@ package com.vox.projeto.vox.mapper;
 
 import com.vox.projeto.vox.dto.MensagemDTO;
 import com.vox.projeto.vox.entity.Mensagem;
+import com.vox.projeto.vox.repository.projection.MensagemResumo;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -26,6 +27,21 @@ public class MensagemMapper {
                 .build();
     }
 
+    public MensagemDTO toDTO(MensagemResumo resumo) {
+        return MensagemDTO.builder()
+                .id(resumo.id())
+                .conteudoJson(resumo.conteudoJson())
+                .textoCompleto(resumo.textoCompleto())
+                .contexto(resumo.contexto())
+                .usuarioId(resumo.usuarioId())
+                .usuarioNome(resumo.usuarioNome())
+                .criadoEm(resumo.criadoEm())
+                .favorita(resumo.favorita())
+                .vezesReutilizada(resumo.vezesReutilizada())
+                .dispositivoOrigem(resumo.dispositivoOrigem())
+                .build();
+    }
+
     public Mensagem toEntity(MensagemDTO dto) {
         if (dto == null) {
             return null;
@@ -2,6 +2,7 @@ package com.vox.projeto.vox.mapper;
 
 import com.vox.projeto.vox.dto.PictogramaDTO;
 import com.vox.projeto.vox.entity.Pictograma;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -33,6 +34,28 @@ public class PictogramaMapper {
                 .build();
     }
 
+    public PictogramaDTO toDTO(PictogramaResumo resumo) {
+        return PictogramaDTO.builder()
+                .id(resumo.id())
+                .label(resumo.label())
+                .labelAlternativo(resumo.labelAlternativo())
+                .cor(resumo.cor())
+                .icone(resumo.icone())
+                .imagemUrl(resumo.imagemUrl())
+                .tipo(resumo.tipo())
+                .ativo(resumo.ativo())
+                .padrao(resumo.padrao())
+                .ordem(resumo.ordem())
+                .vezesUsado(resumo.vezesUsado())
+                .categoriaId(resumo.categoriaId())
+                .categoriaNome(resumo.categoriaNome())
+                .categoriaCor(resumo.categoriaCor())
+                .usuarioId(resumo.usuarioId())
+                .criadoEm(resumo.criadoEm())
+                .atualizadoEm(resumo.atualizadoEm())
+                .build();
+    }
+
     public Pictograma toEntity(PictogramaDTO dto) {
         if (dto == null) {
             return null;
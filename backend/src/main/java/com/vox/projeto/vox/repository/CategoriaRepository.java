@@ -2,11 +2,17 @@ package com.vox.projeto.vox.repository;
 
 import com.vox.projeto.vox.entity.Categoria;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.repository.projection.CategoriaResumo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,12 +25,34 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
 
     List<Categoria> findByUsuarioAndAtivaOrderByOrdemAsc(Usuario usuario, Boolean ativa);
 
-    @Query("SELECT c FROM Categoria c WHERE (c.padrao = true OR c.usuario = :usuario) AND c.ativa = true ORDER BY c.ordem ASC")
-    List<Categoria> findCategoriasDisponiveisParaUsuario(@Param("usuario") Usuario usuario);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT " + CategoriaResumo.SELECT + " FROM Categoria c WHERE (c.padrao = true OR c.usuario.id = :usuarioId) AND c.ativa = true ORDER BY c.ordem ASC")
+    List<CategoriaResumo> findCategoriasDisponiveisParaUsuario(@Param("usuarioId") Long usuarioId);
+
+    // usuario IS NULL identifica as categorias do sistema e usa o índice (usuario_id, atualizado_em)
+    @Query("SELECT " + CategoriaResumo.SELECT + " FROM Categoria c WHERE (c.usuario IS NULL OR c.usuario.id = :usuarioId) AND c.atualizadoEm > :desde")
+    List<CategoriaResumo> findAlteradasDesde(@Param("usuarioId") Long usuarioId, @Param("desde") LocalDateTime desde);
 
     boolean existsByNomeAndUsuario(String nome, Usuario usuario);
 
     long countByUsuarioAndAtivaTrue(Usuario usuario);
 
     Optional<Categoria> findByIdAndUsuario(Long id, Usuario usuario);
+
+    @Modifying
+    @Query("UPDATE Categoria c SET c.quantidadePictogramas = c.quantidadePictogramas + :delta, c.atualizadoEm = LOCAL DATETIME WHERE c.id = :categoriaId")
+    int ajustarQuantidadePictogramas(@Param("categoriaId") Long categoriaId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("""
+            UPDATE Categoria c SET c.atualizadoEm = LOCAL DATETIME, c.quantidadePictogramas = (
+                SELECT COUNT(p) FROM Pictograma p
+                WHERE p.categoria = c AND p.ativo = true
+                  AND ((c.usuario IS NULL AND p.padrao = true) OR p.usuario = c.usuario))
+            WHERE c.quantidadePictogramas <> (
+                SELECT COUNT(p) FROM Pictograma p
+                WHERE p.categoria = c AND p.ativo = true
+                  AND ((c.usuario IS NULL AND p.padrao = true) OR p.usuario = c.usuario))
+            """)
+    int recalcularQuantidadePictogramas();
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.vox.projeto.vox.repository;
+
+import com.vox.projeto.vox.entity.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, Long> {
+
+    Optional<ChaveIdempotencia> findByEscopoAndChave(String escopo, String chave);
+
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.criadoEm < :limite")
+    int removerAnterioresA(@Param("limite") LocalDateTime limite);
+}
@@ -5,6 +5,7 @@ import com.vox.projeto.vox.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +14,6 @@ public interface ConfiguracaoUsuarioRepository extends JpaRepository<Configuraca
     Optional<ConfiguracaoUsuario> findByUsuario(Usuario usuario);
 
     boolean existsByUsuario(Usuario usuario);
+
+    Optional<ConfiguracaoUsuario> findByUsuarioIdAndAtualizadoEmAfter(Long usuarioId, LocalDateTime desde);
 }
\ No newline at end of file
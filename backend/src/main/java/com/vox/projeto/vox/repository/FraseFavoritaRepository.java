@@ -2,21 +2,42 @@ package com.vox.projeto.vox.repository;
 
 import com.vox.projeto.vox.entity.FraseFavorita;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.repository.projection.FraseFavoritaResumo;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FraseFavoritaRepository extends JpaRepository<FraseFavorita, Long> {
 
-    List<FraseFavorita> findByUsuarioAndAtivaOrderByOrdemAsc(Usuario usuario, Boolean ativa);
+    @Query("SELECT " + FraseFavoritaResumo.SELECT + " FROM FraseFavorita f WHERE f.usuario.id = :usuarioId AND f.ativa = true ORDER BY f.ordem ASC")
+    List<FraseFavoritaResumo> findAtivasPorUsuario(@Param("usuarioId") Long usuarioId);
 
-    @Query("SELECT f FROM FraseFavorita f WHERE f.usuario = :usuario AND f.ativa = true ORDER BY f.vezesUsada DESC")
-    List<FraseFavorita> findMaisUsadas(@Param("usuario") Usuario usuario);
+    @Query("SELECT " + FraseFavoritaResumo.SELECT + " FROM FraseFavorita f WHERE f.usuario.id = :usuarioId AND f.ativa = true ORDER BY f.pontuacao DESC")
+    List<FraseFavoritaResumo> findMaisUsadas(@Param("usuarioId") Long usuarioId, Limit limite);
+
+    @Query("SELECT " + FraseFavoritaResumo.SELECT + " FROM FraseFavorita f WHERE f.usuario.id = :usuarioId AND f.atualizadoEm > :desde")
+    List<FraseFavoritaResumo> findAlteradasDesde(@Param("usuarioId") Long usuarioId, @Param("desde") LocalDateTime desde);
+
+    @Query("SELECT f.id FROM FraseFavorita f WHERE f.id IN :ids AND f.usuario.id = :usuarioId")
+    List<Long> findIdsDoUsuario(@Param("usuarioId") Long usuarioId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            UPDATE FraseFavorita f SET f.vezesUsada = f.vezesUsada + :quantidade,
+                f.pontuacao = GREATEST(f.pontuacao, :expoente) + LN(1 + EXP(-ABS(f.pontuacao - :expoente))),
+                f.atualizadoEm = LOCAL DATETIME
+            WHERE f.id IN :ids
+            """)
+    int incrementarUso(@Param("ids") Collection<Long> ids, @Param("quantidade") int quantidade, @Param("expoente") double expoente);
 
     boolean existsByTituloAndUsuario(String titulo, Usuario usuario);
 
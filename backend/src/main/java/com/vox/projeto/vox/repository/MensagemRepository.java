@@ -2,29 +2,48 @@ package com.vox.projeto.vox.repository;
 
 import com.vox.projeto.vox.entity.Mensagem;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.repository.projection.MensagemResumo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MensagemRepository extends JpaRepository<Mensagem, Long> {
 
-    Page<Mensagem> findByUsuarioOrderByCriadoEmDesc(Usuario usuario, Pageable pageable);
+    @EntityGraph(attributePaths = "usuario")
+    Optional<Mensagem> findWithUsuarioById(Long id);
 
-    List<Mensagem> findByUsuarioAndFavoritaTrueOrderByCriadoEmDesc(Usuario usuario);
+    @Query(value = "SELECT " + MensagemResumo.SELECT + " FROM Mensagem m JOIN m.usuario u WHERE u.id = :usuarioId ORDER BY m.criadoEm DESC",
+            countQuery = "SELECT COUNT(m) FROM Mensagem m WHERE m.usuario.id = :usuarioId")
+    Page<MensagemResumo> findResumosPorUsuario(@Param("usuarioId") Long usuarioId, Pageable pageable);
 
-    List<Mensagem> findByUsuarioAndCriadoEmBetweenOrderByCriadoEmDesc(
-            Usuario usuario,
-            LocalDateTime inicio,
-            LocalDateTime fim
+    @Query("SELECT " + MensagemResumo.SELECT + " FROM Mensagem m JOIN m.usuario u WHERE u.id = :usuarioId AND m.favorita = true ORDER BY m.criadoEm DESC")
+    List<MensagemResumo> findFavoritasPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT " + MensagemResumo.SELECT + " FROM Mensagem m JOIN m.usuario u WHERE u.id = :usuarioId AND m.criadoEm BETWEEN :inicio AND :fim ORDER BY m.criadoEm DESC")
+    List<MensagemResumo> findPorUsuarioNoPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim
     );
 
+    @Query("SELECT m.id FROM Mensagem m WHERE m.id IN :ids AND m.usuario.id = :usuarioId")
+    List<Long> findIdsDoUsuario(@Param("usuarioId") Long usuarioId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Mensagem m SET m.vezesReutilizada = m.vezesReutilizada + :quantidade WHERE m.id IN :ids")
+    int incrementarReutilizacao(@Param("ids") Collection<Long> ids, @Param("quantidade") int quantidade);
+
     List<Mensagem> findByUsuarioAndContextoOrderByCriadoEmDesc(Usuario usuario, String contexto);
 
     @Query("SELECT m FROM Mensagem m WHERE m.usuario = :usuario ORDER BY m.vezesReutilizada DESC")
@@ -4,36 +4,148 @@ import com.vox.projeto.vox.entity.Categoria;
 import com.vox.projeto.vox.entity.Pictograma;
 import com.vox.projeto.vox.entity.TipoPictograma;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.repository.projection.BoardLinha;
+import com.vox.projeto.vox.repository.projection.PictogramaCategoriaId;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PictogramaRepository extends JpaRepository<Pictograma, Long> {
 
+    @EntityGraph(attributePaths = "categoria")
+    Optional<Pictograma> findWithCategoriaById(Long id);
+
     List<Pictograma> findByCategoriaAndAtivoTrueOrderByOrdemAsc(Categoria categoria);
 
     List<Pictograma> findByPadraoTrueAndAtivoTrue();
 
     List<Pictograma> findByUsuarioAndAtivoTrue(Usuario usuario);
 
-    @Query("SELECT p FROM Pictograma p WHERE (p.padrao = true OR p.usuario = :usuario) AND p.ativo = true AND p.categoria = :categoria ORDER BY p.ordem ASC")
-    List<Pictograma> findPictogramasDisponiveisParaUsuario(@Param("usuario") Usuario usuario, @Param("categoria") Categoria categoria);
+    // Fora do cache de consultas: traz vezesUsado, que o ContadorUsoService grava por JDBC a cada poucos segundos
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE (p.padrao = true OR p.usuario.id = :usuarioId) AND p.ativo = true AND c.id = :categoriaId ORDER BY p.ordem ASC")
+    List<PictogramaResumo> findPictogramasDisponiveisParaUsuario(@Param("usuarioId") Long usuarioId, @Param("categoriaId") Long categoriaId);
+
+    @Query("SELECT " + PictogramaResumo.SELECT + """
+            FROM Pictograma p JOIN p.categoria c
+            WHERE c.id = :categoriaId AND p.ativo = true
+              AND (p.padrao = true OR p.usuario.id = :usuarioId)
+              AND (p.ordem, p.id) > (:ordem, :id)
+            ORDER BY p.ordem ASC, p.id ASC
+            """)
+    List<PictogramaResumo> findPaginaDaCategoria(@Param("usuarioId") Long usuarioId,
+                                                 @Param("categoriaId") Long categoriaId,
+                                                 @Param("ordem") int ordem,
+                                                 @Param("id") long id,
+                                                 Limit limite);
+
+    @Query("""
+            SELECT new com.vox.projeto.vox.repository.projection.BoardLinha(
+                c.id, c.nome, c.descricao, c.cor, c.icone, c.ativa, c.ordem,
+                p.id, p.label, p.labelAlternativo, p.cor, p.icone, p.imagemUrl, p.tipo,
+                p.padrao, p.ordem, p.vezesUsado, p.usuario.id, p.criadoEm, p.atualizadoEm)
+            FROM Categoria c
+            LEFT JOIN Pictograma p ON p.categoria = c AND p.ativo = true
+                AND (p.padrao = true OR p.usuario.id = :usuarioId)
+            WHERE (c.padrao = true OR c.usuario.id = :usuarioId) AND c.ativa = true
+            ORDER BY c.ordem ASC, c.id ASC, p.ordem ASC, p.id ASC
+            """)
+    List<BoardLinha> findBoardDoUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE p.id IN :ids AND (p.padrao = true OR p.usuario.id = :usuarioId)")
+    List<PictogramaResumo> findDisponiveisPorIds(@Param("usuarioId") Long usuarioId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.vox.projeto.vox.repository.projection.PictogramaCategoriaId(p.id, p.categoria.id) FROM Pictograma p WHERE p.id IN :ids AND (p.padrao = true OR p.usuario.id = :usuarioId)")
+    List<PictogramaCategoriaId> findIdsDisponiveis(@Param("usuarioId") Long usuarioId, @Param("ids") Collection<Long> ids);
+
+    // usuario IS NULL identifica os pictogramas do sistema e usa o índice (usuario_id, atualizado_em)
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE (p.usuario IS NULL OR p.usuario.id = :usuarioId) AND p.atualizadoEm > :desde")
+    List<PictogramaResumo> findAlteradosDesde(@Param("usuarioId") Long usuarioId, @Param("desde") LocalDateTime desde);
 
     List<Pictograma> findByTipoAndAtivoTrue(TipoPictograma tipo);
 
-    @Query("SELECT p FROM Pictograma p WHERE p.usuario = :usuario AND p.ativo = true ORDER BY p.vezesUsado DESC")
-    List<Pictograma> findMaisUsadosPorUsuario(@Param("usuario") Usuario usuario);
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE p.usuario.id = :usuarioId AND p.ativo = true ORDER BY p.pontuacao DESC")
+    List<PictogramaResumo> findMaisUsadosPorUsuario(@Param("usuarioId") Long usuarioId, Limit limite);
+
+    // Carga do índice de busca em memória (ver IndiceBuscaService)
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE p.ativo = true")
+    List<PictogramaResumo> findAtivosParaIndice();
+
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE p.id = :id")
+    Optional<PictogramaResumo> findResumoPorId(@Param("id") Long id);
+
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE c.id = :categoriaId AND p.ativo = true")
+    List<PictogramaResumo> findAtivosDaCategoria(@Param("categoriaId") Long categoriaId);
+
+    // Carga das árvores de autocompletar (ver AutocompletarService)
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE p.padrao = true AND p.ativo = true")
+    List<PictogramaResumo> findAtivosDoSistema();
+
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE p.usuario.id = :usuarioId AND p.padrao = false AND p.ativo = true")
+    List<PictogramaResumo> findAtivosDoUsuario(@Param("usuarioId") Long usuarioId);
 
     @Query("SELECT p FROM Pictograma p WHERE LOWER(p.label) LIKE LOWER(CONCAT('%', :termo, '%')) AND p.ativo = true")
     List<Pictograma> buscarPorLabel(@Param("termo") String termo);
 
-    @Query("SELECT p FROM Pictograma p WHERE (LOWER(p.label) LIKE LOWER(CONCAT('%', :termo, '%')) OR LOWER(p.labelAlternativo) LIKE LOWER(CONCAT('%', :termo, '%'))) AND p.ativo = true")
-    List<Pictograma> buscarPorLabelOuAlternativo(@Param("termo") String termo);
+    /**
+     * Ids dos pictogramas do sistema e do usuário que correspondem ao termo já
+     * normalizado, do mais parecido para o menos. Os padrões LIKE são servidos pelos índices GIN
+     * de trigramas (V3__busca_trigram.sql), sem varrer a tabela.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT p.id
+            FROM pictogramas p
+            WHERE p.ativo
+              AND (vox_normalizar(p.label) LIKE :padraoInicio
+                OR vox_normalizar(p.label) LIKE :padraoMeio
+                OR vox_normalizar(p.label_alternativo) LIKE :padraoInicio
+                OR vox_normalizar(p.label_alternativo) LIKE :padraoMeio)
+              AND (p.padrao OR p.usuario_id = :usuarioId)
+            ORDER BY GREATEST(similarity(vox_normalizar(p.label), :termo),
+                              similarity(coalesce(vox_normalizar(p.label_alternativo), ''), :termo) / 2) DESC,
+                     p.vezes_usado DESC, p.id
+            LIMIT :limite OFFSET :deslocamento
+            """)
+    List<Long> buscarPorLabelOuAlternativo(@Param("termo") String termo,
+                                           @Param("padraoInicio") String padraoInicio,
+                                           @Param("padraoMeio") String padraoMeio,
+                                           @Param("usuarioId") Long usuarioId,
+                                           @Param("limite") int limite,
+                                           @Param("deslocamento") int deslocamento);
+
+    /**
+     * Ids dos pictogramas do sistema e do usuário com alguma palavra parecida com o termo normalizado
+     * (operador {@code <%} do pg_trgm, servido pelos mesmos índices GIN), da
+     * mais parecida para a menos.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT p.id
+            FROM pictogramas p
+            WHERE p.ativo
+              AND (:termo <% vox_normalizar(p.label)
+                OR :termo <% vox_normalizar(p.label_alternativo))
+              AND (p.padrao OR p.usuario_id = :usuarioId)
+            ORDER BY GREATEST(word_similarity(:termo, vox_normalizar(p.label)),
+                              word_similarity(:termo, coalesce(vox_normalizar(p.label_alternativo), '')) / 2) DESC,
+                     p.vezes_usado DESC, p.id
+            LIMIT :limite OFFSET :deslocamento
+            """)
+    List<Long> buscarPorSemelhanca(@Param("termo") String termo,
+                                   @Param("usuarioId") Long usuarioId,
+                                   @Param("limite") int limite,
+                                   @Param("deslocamento") int deslocamento);
+
+    @Query("SELECT " + PictogramaResumo.SELECT + " FROM Pictograma p JOIN p.categoria c WHERE p.id IN :ids")
+    List<PictogramaResumo> findResumosPorIds(@Param("ids") Collection<Long> ids);
 
     boolean existsByLabelAndCategoriaAndUsuario(String label, Categoria categoria, Usuario usuario);
 
@@ -0,0 +1,30 @@
+package com.vox.projeto.vox.repository;
+
+import com.vox.projeto.vox.entity.TopPictogramasDia;
+import com.vox.projeto.vox.entity.UsuarioDiaId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TopPictogramasDiaRepository extends JpaRepository<TopPictogramasDia, UsuarioDiaId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TopPictogramasDia t WHERE t.id = :id")
+    Optional<TopPictogramasDia> findParaAtualizar(@Param("id") UsuarioDiaId id);
+
+    @Query("SELECT t FROM TopPictogramasDia t WHERE t.id.usuarioId = :usuarioId AND t.id.dia >= :desde")
+    List<TopPictogramasDia> findDesde(@Param("usuarioId") Long usuarioId, @Param("desde") LocalDate desde);
+
+    @Modifying
+    @Query("DELETE FROM TopPictogramasDia t WHERE t.id.dia < :limite")
+    int removerAnterioresA(@Param("limite") LocalDate limite);
+}
@@ -0,0 +1,43 @@
+package com.vox.projeto.vox.repository;
+
+import com.vox.projeto.vox.entity.UsoAgregadoId;
+import com.vox.projeto.vox.entity.UsoPorDia;
+import com.vox.projeto.vox.repository.projection.UsoPeriodo;
+import com.vox.projeto.vox.repository.projection.UsoPictograma;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UsoPorDiaRepository extends JpaRepository<UsoPorDia, UsoAgregadoId> {
+
+    @Query("""
+            SELECT new com.vox.projeto.vox.repository.projection.UsoPeriodo(d.id.inicio, SUM(d.quantidade))
+            FROM UsoPorDia d
+            WHERE d.id.usuarioId = :usuarioId AND d.id.inicio >= :inicio AND d.id.inicio < :fim
+            GROUP BY d.id.inicio
+            ORDER BY d.id.inicio
+            """)
+    List<UsoPeriodo> somarPorDia(
+            @Param("usuarioId") Long usuarioId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim
+    );
+
+    @Query("""
+            SELECT new com.vox.projeto.vox.repository.projection.UsoPictograma(d.id.pictogramaId, p.label, SUM(d.quantidade))
+            FROM UsoPorDia d JOIN Pictograma p ON p.id = d.id.pictogramaId
+            WHERE d.id.usuarioId = :usuarioId AND d.id.inicio >= :inicio AND d.id.inicio < :fim
+            GROUP BY d.id.pictogramaId, p.label
+            ORDER BY SUM(d.quantidade) DESC
+            """)
+    List<UsoPictograma> somarPorPictograma(
+            @Param("usuarioId") Long usuarioId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim
+    );
+}
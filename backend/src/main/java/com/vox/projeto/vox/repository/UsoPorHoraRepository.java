@@ -0,0 +1,44 @@
+package com.vox.projeto.vox.repository;
+
+import com.vox.projeto.vox.entity.UsoAgregadoId;
+import com.vox.projeto.vox.entity.UsoPorHora;
+import com.vox.projeto.vox.repository.projection.UsoHoraDoDia;
+import com.vox.projeto.vox.repository.projection.UsoPeriodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UsoPorHoraRepository extends JpaRepository<UsoPorHora, UsoAgregadoId> {
+
+    @Query("""
+            SELECT new com.vox.projeto.vox.repository.projection.UsoPeriodo(h.id.inicio, SUM(h.quantidade))
+            FROM UsoPorHora h
+            WHERE h.id.usuarioId = :usuarioId AND h.id.inicio >= :inicio AND h.id.inicio < :fim
+            GROUP BY h.id.inicio
+            ORDER BY h.id.inicio
+            """)
+    List<UsoPeriodo> somarPorHora(
+            @Param("usuarioId") Long usuarioId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim
+    );
+
+    @Query("""
+            SELECT new com.vox.projeto.vox.repository.projection.UsoHoraDoDia(
+                CAST(EXTRACT(HOUR FROM h.id.inicio) AS Integer), SUM(h.quantidade))
+            FROM UsoPorHora h
+            WHERE h.id.usuarioId = :usuarioId AND h.id.inicio >= :inicio AND h.id.inicio < :fim
+            GROUP BY EXTRACT(HOUR FROM h.id.inicio)
+            ORDER BY EXTRACT(HOUR FROM h.id.inicio)
+            """)
+    List<UsoHoraDoDia> somarPorHoraDoDia(
+            @Param("usuarioId") Long usuarioId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim
+    );
+}
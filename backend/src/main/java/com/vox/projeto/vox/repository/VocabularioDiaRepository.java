@@ -0,0 +1,34 @@
+package com.vox.projeto.vox.repository;
+
+import com.vox.projeto.vox.entity.UsuarioDiaId;
+import com.vox.projeto.vox.entity.VocabularioDia;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VocabularioDiaRepository extends JpaRepository<VocabularioDia, UsuarioDiaId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM VocabularioDia v WHERE v.id = :id")
+    Optional<VocabularioDia> findParaAtualizar(@Param("id") UsuarioDiaId id);
+
+    @Query("SELECT v FROM VocabularioDia v WHERE v.id.usuarioId = :usuarioId AND v.id.dia BETWEEN :inicio AND :fim ORDER BY v.id.dia")
+    List<VocabularioDia> findNoPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim
+    );
+
+    @Modifying
+    @Query("DELETE FROM VocabularioDia v WHERE v.id.dia < :limite")
+    int removerAnterioresA(@Param("limite") LocalDate limite);
+}
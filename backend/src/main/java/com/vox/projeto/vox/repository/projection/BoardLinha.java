@@ -0,0 +1,32 @@
+package com.vox.projeto.vox.repository.projection;
+
+import com.vox.projeto.vox.entity.TipoPictograma;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha plana do board: uma categoria e (opcionalmente) um de seus pictogramas.
+ * Categorias sem pictogramas ativos vêm com os campos do pictograma nulos.
+ */
+public record BoardLinha(
+        Long categoriaId,
+        String categoriaNome,
+        String categoriaDescricao,
+        String categoriaCor,
+        String categoriaIcone,
+        Boolean categoriaAtiva,
+        Integer categoriaOrdem,
+        Long pictogramaId,
+        String label,
+        String labelAlternativo,
+        String cor,
+        String icone,
+        String imagemUrl,
+        TipoPictograma tipo,
+        Boolean padrao,
+        Integer ordem,
+        Integer vezesUsado,
+        Long usuarioId,
+        LocalDateTime criadoEm,
+        LocalDateTime atualizadoEm
+) {}
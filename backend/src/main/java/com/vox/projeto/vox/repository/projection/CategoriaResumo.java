@@ -0,0 +1,28 @@
+package com.vox.projeto.vox.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de {@link com.vox.projeto.vox.dto.CategoriaDTO} lidas direto do banco.
+ */
+public record CategoriaResumo(
+        Long id,
+        String nome,
+        String descricao,
+        String cor,
+        String icone,
+        Boolean ativa,
+        Boolean padrao,
+        Integer ordem,
+        Long usuarioId,
+        Integer quantidadePictogramas,
+        LocalDateTime criadoEm,
+        LocalDateTime atualizadoEm
+) {
+
+    public static final String SELECT = """
+            new com.vox.projeto.vox.repository.projection.CategoriaResumo(
+                c.id, c.nome, c.descricao, c.cor, c.icone, c.ativa, c.padrao, c.ordem,
+                c.usuario.id, c.quantidadePictogramas, c.criadoEm, c.atualizadoEm)
+            """;
+}
@@ -0,0 +1,26 @@
+package com.vox.projeto.vox.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de {@link com.vox.projeto.vox.dto.FraseFavoritaDTO} lidas direto do banco.
+ */
+public record FraseFavoritaResumo(
+        Long id,
+        String titulo,
+        String conteudoJson,
+        String textoCompleto,
+        Boolean ativa,
+        Integer ordem,
+        Integer vezesUsada,
+        Long usuarioId,
+        LocalDateTime criadoEm,
+        LocalDateTime atualizadoEm
+) {
+
+    public static final String SELECT = """
+            new com.vox.projeto.vox.repository.projection.FraseFavoritaResumo(
+                f.id, f.titulo, f.conteudoJson, f.textoCompleto, f.ativa, f.ordem,
+                f.vezesUsada, f.usuario.id, f.criadoEm, f.atualizadoEm)
+            """;
+}
@@ -0,0 +1,27 @@
+package com.vox.projeto.vox.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de {@link com.vox.projeto.vox.dto.MensagemDTO} lidas direto do banco,
+ * com o nome do usuário vindo do mesmo JOIN.
+ */
+public record MensagemResumo(
+        Long id,
+        String conteudoJson,
+        String textoCompleto,
+        String contexto,
+        Long usuarioId,
+        String usuarioNome,
+        LocalDateTime criadoEm,
+        Boolean favorita,
+        Integer vezesReutilizada,
+        String dispositivoOrigem
+) {
+
+    public static final String SELECT = """
+            new com.vox.projeto.vox.repository.projection.MensagemResumo(
+                m.id, m.conteudoJson, m.textoCompleto, m.contexto, u.id, u.nome,
+                m.criadoEm, m.favorita, m.vezesReutilizada, m.dispositivoOrigem)
+            """;
+}
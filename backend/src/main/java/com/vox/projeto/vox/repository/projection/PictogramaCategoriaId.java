@@ -0,0 +1,7 @@
+package com.vox.projeto.vox.repository.projection;
+
+/**
+ * Par pictograma/categoria usado ao registrar eventos de uso.
+ */
+public record PictogramaCategoriaId(Long id, Long categoriaId) {
+}
@@ -0,0 +1,37 @@
+package com.vox.projeto.vox.repository.projection;
+
+import com.vox.projeto.vox.entity.TipoPictograma;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de {@link com.vox.projeto.vox.dto.PictogramaDTO} lidas direto do banco,
+ * sem carregar a entidade nem suas associações.
+ */
+public record PictogramaResumo(
+        Long id,
+        String label,
+        String labelAlternativo,
+        String cor,
+        String icone,
+        String imagemUrl,
+        TipoPictograma tipo,
+        Boolean ativo,
+        Boolean padrao,
+        Integer ordem,
+        Integer vezesUsado,
+        Long categoriaId,
+        String categoriaNome,
+        String categoriaCor,
+        Long usuarioId,
+        LocalDateTime criadoEm,
+        LocalDateTime atualizadoEm
+) {
+
+    public static final String SELECT = """
+            new com.vox.projeto.vox.repository.projection.PictogramaResumo(
+                p.id, p.label, p.labelAlternativo, p.cor, p.icone, p.imagemUrl, p.tipo,
+                p.ativo, p.padrao, p.ordem, p.vezesUsado, c.id, c.nome, c.cor,
+                p.usuario.id, p.criadoEm, p.atualizadoEm)
+            """;
+}
@@ -0,0 +1,7 @@
+package com.vox.projeto.vox.repository.projection;
+
+/**
+ * Total de usos em uma hora do dia (0 a 23), somando todos os dias do intervalo.
+ */
+public record UsoHoraDoDia(Integer hora, Long quantidade) {
+}
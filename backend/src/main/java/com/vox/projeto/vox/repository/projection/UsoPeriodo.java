@@ -0,0 +1,9 @@
+package com.vox.projeto.vox.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Total de usos em uma hora ou dia.
+ */
+public record UsoPeriodo(LocalDateTime inicio, Long quantidade) {
+}
@@ -0,0 +1,7 @@
+package com.vox.projeto.vox.repository.projection;
+
+/**
+ * Total de usos de um pictograma no intervalo.
+ */
+public record UsoPictograma(Long pictogramaId, String label, Long quantidade) {
+}
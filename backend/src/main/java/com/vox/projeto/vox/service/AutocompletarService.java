@@ -0,0 +1,117 @@
+package com.vox.projeto.vox.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
+import com.vox.projeto.vox.util.TextoBusca;
+import com.vox.projeto.vox.util.TrieCompacta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Autocompletar de pictogramas por prefixo, ponderado por vezesUsado.
+ *
+ * Há uma árvore imutável para os pictogramas do sistema e uma por usuário
+ * com os personalizados; a consulta junta as duas. Uma alteração do
+ * usuário reconstrói só a árvore dele (a antiga segue respondendo até a
+ * nova ficar pronta); a do sistema é reconstruída na recarga periódica.
+ * As dos usuários também são recarregadas nesse intervalo, no primeiro
+ * acesso depois dele, para o peso por vezesUsado não ficar parado.
+ */
+@Service
+@Slf4j
+public class AutocompletarService {
+
+    public static final int LIMITE_MAXIMO = 10;
+
+    private static final Comparator<TrieCompacta.Entrada<PictogramaResumo>> MAIOR_PESO =
+            Comparator.<TrieCompacta.Entrada<PictogramaResumo>>comparingLong(TrieCompacta.Entrada::peso).reversed()
+                    .thenComparing(TrieCompacta.Entrada::chave);
+
+    private final PictogramaRepository pictogramaRepository;
+    private final LoadingCache<Long, TrieCompacta<PictogramaResumo>> arvoresDosUsuarios;
+
+    private volatile TrieCompacta<PictogramaResumo> arvoreDoSistema = TrieCompacta.vazia();
+
+    public AutocompletarService(PictogramaRepository pictogramaRepository,
+                                @Value("${vox.autocompletar.maximo-usuarios:10000}") long maximoUsuarios,
+                                @Value("${vox.autocompletar.expiracao:PT30M}") Duration expiracao,
+                                @Value("${vox.busca.indice.recarga:PT10M}") Duration recarga) {
+        this.pictogramaRepository = pictogramaRepository;
+        this.arvoresDosUsuarios = Caffeine.newBuilder()
+                .maximumSize(maximoUsuarios)
+                .expireAfterAccess(expiracao)
+                .refreshAfterWrite(recarga)
+                .build(usuarioId -> construir(pictogramaRepository.findAtivosDoUsuario(usuarioId)));
+    }
+
+    public List<PictogramaResumo> completar(Long usuarioId, String prefixo, int limite) {
+        String normalizado = TextoBusca.normalizar(prefixo);
+        if (normalizado.isEmpty()) {
+            return List.of();
+        }
+
+        int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO);
+
+        // Sistema e usuário não têm pictogramas em comum: basta intercalar por peso
+        return Stream.concat(
+                        arvoreDoSistema.completar(normalizado, tamanho).stream(),
+                        arvoresDosUsuarios.get(usuarioId).completar(normalizado, tamanho).stream())
+                .sorted(MAIOR_PESO)
+                .limit(tamanho)
+                .map(TrieCompacta.Entrada::valor)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${vox.busca.indice.recarga:PT10M}", fixedDelayString = "${vox.busca.indice.recarga:PT10M}")
+    public void recarregarSistema() {
+        long inicio = System.nanoTime();
+        TrieCompacta<PictogramaResumo> arvore = construir(pictogramaRepository.findAtivosDoSistema());
+        arvoreDoSistema = arvore;
+        log.info("Autocompletar do sistema carregado: {} chaves em {} ms",
+                arvore.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarDados(AlteracaoDadosEvent event) {
+        if (!event.entidade().afetaBoard() || arvoresDosUsuarios.getIfPresent(event.usuarioId()) == null) {
+            return;
+        }
+
+        log.debug("Reconstruindo autocompletar do usuário: {}", event.usuarioId());
+        arvoresDosUsuarios.refresh(event.usuarioId());
+    }
+
+    /**
+     * Uma chave por sufixo de palavras do rótulo: "agua de coco", "de coco"
+     * e "coco" levam ao mesmo pictograma.
+     */
+    private TrieCompacta<PictogramaResumo> construir(List<PictogramaResumo> pictogramas) {
+        List<TrieCompacta.Entrada<PictogramaResumo>> entradas = new ArrayList<>();
+
+        for (PictogramaResumo resumo : pictogramas) {
+            List<String> palavras = TextoBusca.tokens(resumo.label());
+            long peso = resumo.vezesUsado() != null ? resumo.vezesUsado() : 0;
+            for (int i = 0; i < palavras.size(); i++) {
+                entradas.add(new TrieCompacta.Entrada<>(String.join(" ", palavras.subList(i, palavras.size())), resumo, peso));
+            }
+        }
+
+        return TrieCompacta.construir(entradas, LIMITE_MAXIMO);
+    }
+}
@@ -0,0 +1,119 @@
+package com.vox.projeto.vox.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vox.projeto.vox.dto.BoardDTO;
+import com.vox.projeto.vox.dto.CategoriaComPictogramasDTO;
+import com.vox.projeto.vox.dto.PictogramaDTO;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.projection.BoardLinha;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monta o board completo do usuário (categorias + pictogramas ativos)
+ * e mantém um snapshot em memória por usuário.
+ */
+@Service
+@Slf4j
+public class BoardService {
+
+    private final PictogramaRepository pictogramaRepository;
+    private final Cache<Long, BoardDTO> snapshots;
+
+    public BoardService(PictogramaRepository pictogramaRepository,
+                        @Value("${vox.board.cache.maximo-usuarios:10000}") long maximoUsuarios,
+                        @Value("${vox.board.cache.expiracao:PT30M}") Duration expiracao) {
+        this.pictogramaRepository = pictogramaRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximoUsuarios)
+                .expireAfterAccess(expiracao)
+                .build();
+    }
+
+    /**
+     * Retorna o board do usuário. Em cache frio executa uma única consulta;
+     * chamadas concorrentes para o mesmo usuário aguardam a mesma carga.
+     */
+    public BoardDTO obterBoard(Long usuarioId) {
+        return snapshots.get(usuarioId, this::carregarBoard);
+    }
+
+    /**
+     * Descarta o snapshot do usuário após o commit de qualquer escrita.
+     * Se houver uma carga em andamento, o Caffeine aguarda seu término antes
+     * de remover, então um snapshot antigo nunca sobrevive à invalidação.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarDados(AlteracaoDadosEvent event) {
+        if (!event.entidade().afetaBoard()) {
+            return;
+        }
+
+        log.debug("Invalidando board do usuário: {}", event.usuarioId());
+        snapshots.invalidate(event.usuarioId());
+    }
+
+    private BoardDTO carregarBoard(Long usuarioId) {
+        log.info("Montando board do usuário: {}", usuarioId);
+
+        Map<Long, CategoriaComPictogramasDTO> categorias = new LinkedHashMap<>();
+
+        for (BoardLinha linha : pictogramaRepository.findBoardDoUsuario(usuarioId)) {
+            CategoriaComPictogramasDTO categoria = categorias.computeIfAbsent(linha.categoriaId(), id ->
+                    new CategoriaComPictogramasDTO(
+                            id,
+                            linha.categoriaNome(),
+                            linha.categoriaDescricao(),
+                            linha.categoriaCor(),
+                            linha.categoriaIcone(),
+                            linha.categoriaAtiva(),
+                            linha.categoriaOrdem(),
+                            new ArrayList<>()
+                    ));
+
+            if (linha.pictogramaId() != null) {
+                categoria.getPictogramas().add(toPictogramaDTO(linha));
+            }
+        }
+
+        return BoardDTO.builder()
+                .usuarioId(usuarioId)
+                .categorias(List.copyOf(categorias.values()))
+                .geradoEm(LocalDateTime.now())
+                .build();
+    }
+
+    private PictogramaDTO toPictogramaDTO(BoardLinha linha) {
+        return PictogramaDTO.builder()
+                .id(linha.pictogramaId())
+                .label(linha.label())
+                .labelAlternativo(linha.labelAlternativo())
+                .cor(linha.cor())
+                .icone(linha.icone())
+                .imagemUrl(linha.imagemUrl())
+                .tipo(linha.tipo())
+                .ativo(true)
+                .padrao(linha.padrao())
+                .ordem(linha.ordem())
+                .vezesUsado(linha.vezesUsado())
+                .categoriaId(linha.categoriaId())
+                .categoriaNome(linha.categoriaNome())
+                .categoriaCor(linha.categoriaCor())
+                .usuarioId(linha.usuarioId())
+                .criadoEm(linha.criadoEm())
+                .atualizadoEm(linha.atualizadoEm())
+                .build();
+    }
+}
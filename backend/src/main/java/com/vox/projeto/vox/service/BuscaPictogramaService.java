@@ -0,0 +1,125 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.config.ModoBusca;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
+import com.vox.projeto.vox.util.TextoBusca;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Busca de pictogramas por texto no modo configurado em vox.busca.modo:
+ * índice em memória ou trigramas no Postgres. Os dois normalizam o termo
+ * da mesma forma (ver {@link TextoBusca} e a função vox_normalizar).
+ * A busca aproximada usa SymSpell no modo MEMORIA e similaridade de
+ * palavras do pg_trgm no modo BANCO.
+ */
+@Service
+@Slf4j
+public class BuscaPictogramaService {
+
+    private static final String SCRIPT_TRIGRAMAS = "db/migration/V3__busca_trigram.sql";
+    private static final int TAMANHO_NGRAMA = 3;
+
+    private final ModoBusca modo;
+    private final IndiceBuscaService indiceBuscaService;
+    private final PictogramaRepository pictogramaRepository;
+    private final DataSource dataSource;
+
+    public BuscaPictogramaService(@Value("${vox.busca.modo:MEMORIA}") ModoBusca modo,
+                                  IndiceBuscaService indiceBuscaService,
+                                  PictogramaRepository pictogramaRepository,
+                                  DataSource dataSource) {
+        this.modo = modo;
+        this.indiceBuscaService = indiceBuscaService;
+        this.pictogramaRepository = pictogramaRepository;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * O Flyway está desligado: no modo BANCO as extensões, a função de
+     * normalização e os índices GIN são criados (idempotente) na subida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepararBanco() {
+        if (modo != ModoBusca.BANCO) {
+            return;
+        }
+
+        new ResourceDatabasePopulator(new ClassPathResource(SCRIPT_TRIGRAMAS)).execute(dataSource);
+        log.info("Busca de pictogramas no modo BANCO (pg_trgm)");
+    }
+
+    /**
+     * Uma página dos pictogramas do sistema e do usuário que correspondem ao
+     * termo. No modo BANCO o limite e o deslocamento vão para o SQL.
+     */
+    public List<PictogramaResumo> buscar(String termo, Long usuarioId, int limite, int deslocamento) {
+        if (modo == ModoBusca.MEMORIA) {
+            return indiceBuscaService.buscar(termo, usuarioId).stream()
+                    .skip(deslocamento)
+                    .limit(limite)
+                    .toList();
+        }
+
+        String normalizado = TextoBusca.normalizar(termo);
+        if (normalizado.isEmpty()) {
+            return List.of();
+        }
+
+        // Termos curtos casam no início das palavras, como no índice em memória
+        String padraoInicio = normalizado.length() < TAMANHO_NGRAMA ? normalizado + "%" : "%" + normalizado + "%";
+        String padraoMeio = normalizado.length() < TAMANHO_NGRAMA ? "% " + normalizado + "%" : padraoInicio;
+
+        List<Long> ids = pictogramaRepository.buscarPorLabelOuAlternativo(
+                normalizado, padraoInicio, padraoMeio, usuarioId, limite, deslocamento);
+        return resolverResumos(ids);
+    }
+
+    /**
+     * Busca tolerante a erros de digitação, para quando a busca exata não
+     * encontra nada.
+     */
+    public List<PictogramaResumo> buscarAproximado(String termo, Long usuarioId, int limite, int deslocamento) {
+        if (modo == ModoBusca.MEMORIA) {
+            return indiceBuscaService.buscarAproximado(termo, usuarioId).stream()
+                    .skip(deslocamento)
+                    .limit(limite)
+                    .toList();
+        }
+
+        String normalizado = TextoBusca.normalizar(termo);
+        if (normalizado.length() < TAMANHO_NGRAMA) {
+            return List.of();
+        }
+
+        return resolverResumos(pictogramaRepository.buscarPorSemelhanca(normalizado, usuarioId, limite, deslocamento));
+    }
+
+    // Resumos na ordem dos ids devolvidos pelo banco
+    private List<PictogramaResumo> resolverResumos(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PictogramaResumo> resumos = pictogramaRepository.findResumosPorIds(ids).stream()
+                .collect(Collectors.toMap(PictogramaResumo::id, Function.identity()));
+
+        return ids.stream()
+                .map(resumos::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
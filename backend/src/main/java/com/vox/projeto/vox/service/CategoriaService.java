@@ -1,20 +1,30 @@
 package com.vox.projeto.vox.service;
 
-import com.vox.projeto.vox.dto.CategoriaComPictogramasDTO;
 import com.vox.projeto.vox.dto.CategoriaDTO;
+import com.vox.projeto.vox.dto.PaginaCursorDTO;
 import com.vox.projeto.vox.dto.PictogramaDTO;
 import com.vox.projeto.vox.entity.Categoria;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.event.EntidadeAlterada;
 import com.vox.projeto.vox.exception.ResourceNotFoundException;
 import com.vox.projeto.vox.exception.BusinessException;
 import com.vox.projeto.vox.mapper.CategoriaMapper;
 import com.vox.projeto.vox.mapper.PictogramaMapper;
 import com.vox.projeto.vox.repository.CategoriaRepository;
+import com.vox.projeto.vox.repository.PictogramaRepository;
 import com.vox.projeto.vox.repository.UsuarioRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
+import com.vox.projeto.vox.util.Cursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,10 +37,15 @@ import java.util.Optional;
 @Transactional
 public class CategoriaService {
 
+    private static final int LIMITE_MAXIMO_PAGINA = 200;
+
     private final CategoriaRepository categoriaRepository;
+    private final PictogramaRepository pictogramaRepository;
     private final UsuarioRepository usuarioRepository;
     private final CategoriaMapper categoriaMapper;
     private final PictogramaMapper pictogramaMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VersaoDadosService versaoDadosService;
 
     /**
      * Criar nova categoria personalizada para o usuário
@@ -54,6 +69,7 @@ public class CategoriaService {
         }
 
         categoria = categoriaRepository.save(categoria);
+        publicarAlteracao(usuarioId, categoria.getId());
 
         log.info("Categoria criada com sucesso. ID: {}", categoria.getId());
         return categoriaMapper.toDTO(categoria);
@@ -66,44 +82,58 @@ public class CategoriaService {
     public List<CategoriaDTO> buscarCategoriasDisponiveis(Long usuarioId) {
         log.info("Buscando categorias disponíveis para usuário ID: {}", usuarioId);
 
-        Usuario usuario = buscarUsuario(usuarioId);
-
-        return categoriaRepository.findCategoriasDisponiveisParaUsuario(usuario)
+        return categoriaRepository.findCategoriasDisponiveisParaUsuario(usuarioId)
                 .stream()
                 .map(categoriaMapper::toDTO)
                 .toList(); // Java 25
     }
 
     /**
-     * Buscar categoria com seus pictogramas
+     * Buscar cabeçalho da categoria (sem pictogramas)
      */
     @Transactional(readOnly = true)
-    public CategoriaComPictogramasDTO buscarComPictogramas(Long categoriaId, Long usuarioId) {
-        log.info("Buscando categoria ID: {} com pictogramas para usuário ID: {}", categoriaId, usuarioId);
+    public CategoriaDTO buscarCabecalho(Long categoriaId, Long usuarioId) {
+        log.info("Buscando categoria ID: {} para usuário ID: {}", categoriaId, usuarioId);
 
-        Usuario usuario = buscarUsuario(usuarioId);
-        Categoria categoria = buscarCategoria(categoriaId);
+        return categoriaMapper.toDTO(buscarCategoriaAcessivel(categoriaId, usuarioId));
+    }
 
-        if (!categoria.getPadrao() && !categoria.getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para acessar esta categoria");
+    /**
+     * Listar pictogramas da categoria paginando por (ordem, id) no banco
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<PictogramaDTO> listarPictogramas(Long categoriaId, Long usuarioId, String cursor, int limite) {
+        log.info("Listando pictogramas da categoria ID: {} para usuário ID: {}", categoriaId, usuarioId);
+
+        buscarCategoriaAcessivel(categoriaId, usuarioId);
+
+        int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO_PAGINA);
+        int ordem = Integer.MIN_VALUE;
+        long ultimoId = 0L;
+
+        if (cursor != null && !cursor.isBlank()) {
+            long[] posicao = Cursor.decodificar(cursor, 2);
+            ordem = (int) posicao[0];
+            ultimoId = posicao[1];
+        }
+
+        // Busca um item a mais só para saber se existe próxima página
+        List<PictogramaResumo> linhas = pictogramaRepository
+                .findPaginaDaCategoria(usuarioId, categoriaId, ordem, ultimoId, Limit.of(tamanho + 1));
+
+        boolean temMais = linhas.size() > tamanho;
+        List<PictogramaResumo> pagina = temMais ? linhas.subList(0, tamanho) : linhas;
+
+        String proximoCursor = null;
+        if (temMais) {
+            PictogramaResumo ultimo = pagina.getLast();
+            proximoCursor = Cursor.codificar(ultimo.ordem(), ultimo.id());
         }
 
-        CategoriaComPictogramasDTO dto = new CategoriaComPictogramasDTO(
-                categoria.getId(),
-                categoria.getNome(),
-                categoria.getDescricao(),
-                categoria.getCor(),
-                categoria.getIcone(),
-                categoria.getAtiva(),
-                categoria.getOrdem(),
-                categoria.getPictogramas()
-                        .stream()
-                        .filter(p -> p.getAtivo())
-                        .map(pictogramaMapper::toDTO)
-                        .toList()
-        );
-
-        return dto;
+        return PaginaCursorDTO.<PictogramaDTO>builder()
+                .itens(pagina.stream().map(pictogramaMapper::toDTO).toList())
+                .proximoCursor(proximoCursor)
+                .build();
     }
 
     /**
@@ -135,6 +165,7 @@ public class CategoriaService {
         categoria.setOrdem(dto.getOrdem());
 
         categoria = categoriaRepository.save(categoria);
+        publicarAlteracao(usuarioId, categoria.getId());
 
         log.info("Categoria atualizada com sucesso. ID: {}", categoria.getId());
         return categoriaMapper.toDTO(categoria);
@@ -158,6 +189,7 @@ public class CategoriaService {
 
         categoria.setAtiva(false);
         categoriaRepository.save(categoria);
+        publicarAlteracao(usuarioId, categoria.getId());
 
         log.info("Categoria desativada com sucesso. ID: {}", categoria.getId());
     }
@@ -180,15 +212,46 @@ public class CategoriaService {
                     categoriaRepository.save(categoria);
                 });
 
+        publicarAlteracao(usuarioId, null);
+
         log.info("Categorias reordenadas com sucesso");
     }
 
+    /**
+     * Recalcula o contador de pictogramas de todas as categorias.
+     * Roda na inicialização e diariamente para corrigir qualquer divergência.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${vox.categorias.recontagem.cron:0 30 3 * * *}")
+    public void recalcularQuantidadePictogramas() {
+        int atualizadas = categoriaRepository.recalcularQuantidadePictogramas();
+        if (atualizadas > 0) {
+            // As categorias corrigidas podem ser do sistema, visíveis para todos
+            versaoDadosService.avancarTodos();
+        }
+        log.info("Contadores de pictogramas recalculados em {} categorias", atualizadas);
+    }
+
     // Métodos auxiliares (modernos + enxutos)
+    private void publicarAlteracao(Long usuarioId, Long categoriaId) {
+        eventPublisher.publishEvent(new AlteracaoDadosEvent(usuarioId, EntidadeAlterada.CATEGORIA, categoriaId));
+    }
+
     private Usuario buscarUsuario(Long usuarioId) {
         return usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
     }
 
+    private Categoria buscarCategoriaAcessivel(Long categoriaId, Long usuarioId) {
+        Categoria categoria = buscarCategoria(categoriaId);
+
+        if (!categoria.getPadrao() && !categoria.getUsuario().getId().equals(usuarioId)) {
+            throw new BusinessException("Você não tem permissão para acessar esta categoria");
+        }
+
+        return categoria;
+    }
+
     private Categoria buscarCategoria(Long categoriaId) {
         return categoriaRepository.findById(categoriaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada"));
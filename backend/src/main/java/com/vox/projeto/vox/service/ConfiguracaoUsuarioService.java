@@ -4,12 +4,15 @@ import com.vox.projeto.vox.dto.ConfiguracaoUsuarioDTO;
 import com.vox.projeto.vox.entity.ConfiguracaoUsuario;
 import com.vox.projeto.vox.entity.TamanhoPictograma;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.event.EntidadeAlterada;
 import com.vox.projeto.vox.exception.ResourceNotFoundException;
 import com.vox.projeto.vox.mapper.ConfiguracaoUsuarioMapper;
 import com.vox.projeto.vox.repository.ConfiguracaoUsuarioRepository;
 import com.vox.projeto.vox.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,7 @@ public class ConfiguracaoUsuarioService {
     private final ConfiguracaoUsuarioRepository configuracaoRepository;
     private final UsuarioRepository usuarioRepository;
     private final ConfiguracaoUsuarioMapper configuracaoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Obter configurações do usuário (cria padrão se não existir)
@@ -63,6 +67,7 @@ public class ConfiguracaoUsuarioService {
         config.setPermitirRelatorios(dto.getPermitirRelatorios());
 
         ConfiguracaoUsuario atualizada = configuracaoRepository.save(config);
+        publicarAlteracao(usuarioId, atualizada.getId());
         log.info("Configurações atualizadas com sucesso para usuário: {}", usuarioId);
 
         return configuracaoMapper.toDTO(atualizada);
@@ -93,6 +98,7 @@ public class ConfiguracaoUsuarioService {
         config.setPermitirRelatorios(true);
 
         ConfiguracaoUsuario resetada = configuracaoRepository.save(config);
+        publicarAlteracao(usuarioId, resetada.getId());
         log.info("Configurações resetadas para usuário: {}", usuarioId);
 
         return configuracaoMapper.toDTO(resetada);
@@ -121,7 +127,11 @@ public class ConfiguracaoUsuarioService {
         return configuracaoRepository.save(config);
     }
 
-    // Método auxiliar
+    // Métodos auxiliares
+    private void publicarAlteracao(Long usuarioId, Long configuracaoId) {
+        eventPublisher.publishEvent(new AlteracaoDadosEvent(usuarioId, EntidadeAlterada.CONFIGURACAO, configuracaoId));
+    }
+
     private Usuario buscarUsuarioPorId(Long id) {
         return usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
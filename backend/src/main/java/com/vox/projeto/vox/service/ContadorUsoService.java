@@ -0,0 +1,191 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.entity.Pictograma;
+import com.vox.projeto.vox.util.PontuacaoUso;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Acumula os usos de pictogramas em memória e grava periodicamente um
+ * único lote de UPDATE ... SET vezes_usado = vezes_usado + delta.
+ *
+ * O incremento usa ConcurrentHashMap.merge, que trava apenas o bin da
+ * chave; o flush retira cada chave com remove, então nenhum toque é
+ * perdido entre a leitura e a gravação. Se a gravação falhar, os deltas
+ * voltam para o mapa e entram no próximo flush.
+ */
+@Service
+@Slf4j
+public class ContadorUsoService {
+
+    private static final String SQL_INCREMENTO = """
+            UPDATE pictogramas SET vezes_usado = vezes_usado + ?,
+                pontuacao = GREATEST(pontuacao, ?) + LN(1 + EXP(-ABS(pontuacao - ?)))
+            WHERE id = ?
+            """;
+
+    private final Map<Long, Long> pendentes = new ConcurrentHashMap<>();
+    private final AtomicLong pendenteDesde = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Timer tempoFlush;
+    private final Counter usosGravados;
+
+    public ContadorUsoService(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              EntityManagerFactory entityManagerFactory,
+                              MeterRegistry meterRegistry,
+                              @Value("${vox.uso.flush.intervalo:PT5S}") Duration intervalo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+
+        this.tempoFlush = Timer.builder("vox.uso.flush")
+                .description("Duração de cada gravação do lote de usos")
+                .register(meterRegistry);
+        this.usosGravados = Counter.builder("vox.uso.gravados")
+                .description("Usos de pictogramas gravados no banco")
+                .register(meterRegistry);
+        Gauge.builder("vox.uso.pendentes", pendentes, Map::size)
+                .description("Pictogramas com usos ainda não gravados")
+                .register(meterRegistry);
+        Gauge.builder("vox.uso.atraso", this, ContadorUsoService::atrasoSegundos)
+                .description("Idade, em segundos, do uso pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("vox.uso.flush.intervalo", intervalo, d -> d.toMillis() / 1000.0)
+                .description("Intervalo configurado entre gravações")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Linhas anteriores à coluna pontuacao têm só o contador absoluto: o
+     * histórico entra como se tivesse ocorrido uma meia-vida atrás. Depois
+     * da primeira execução não há mais linhas com pontuacao = 0 e usos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarPontuacoes() {
+        double base = PontuacaoUso.expoente(Instant.now().minus(PontuacaoUso.MEIA_VIDA), 1);
+        int pictogramas = jdbcTemplate.update(
+                "UPDATE pictogramas SET pontuacao = ? + LN(vezes_usado) WHERE pontuacao = 0 AND vezes_usado > 0", base);
+        int frases = jdbcTemplate.update(
+                "UPDATE frases_favoritas SET pontuacao = ? + LN(vezes_usada) WHERE pontuacao = 0 AND vezes_usada > 0", base);
+
+        if (pictogramas > 0) {
+            entityManagerFactory.getCache().evict(Pictograma.class);
+        }
+        if (pictogramas + frases > 0) {
+            log.info("Pontuação de uso inicializada em {} pictogramas e {} frases", pictogramas, frases);
+        }
+    }
+
+    public void registrar(Long pictogramaId) {
+        registrar(pictogramaId, 1);
+    }
+
+    public void registrar(Long pictogramaId, long quantidade) {
+        pendentes.merge(pictogramaId, quantidade, Long::sum);
+        pendenteDesde.compareAndSet(0, System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${vox.uso.flush.intervalo:PT5S}")
+    public void gravarPendentes() {
+        if (pendentes.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            drenar();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Grava o que restou antes de o DataSource ser fechado, aguardando
+     * um flush agendado que esteja em andamento.
+     */
+    @PreDestroy
+    public void encerrar() {
+        flushLock.lock();
+        try {
+            drenar();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drenar() {
+        pendenteDesde.set(0);
+
+        // Ordenado por id para duas instâncias não travarem as mesmas linhas em ordem inversa
+        Map<Long, Long> lote = new TreeMap<>();
+        for (Long id : pendentes.keySet()) {
+            Long delta = pendentes.remove(id);
+            if (delta != null) {
+                lote.put(id, delta);
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            gravar(lote);
+        }
+    }
+
+    private void gravar(Map<Long, Long> lote) {
+        // Os toques do lote entram na pontuação com o instante do flush (diferença irrelevante frente à meia-vida)
+        Instant agora = Instant.now();
+        List<Object[]> parametros = new ArrayList<>(lote.size());
+        lote.forEach((id, delta) -> {
+            double expoente = PontuacaoUso.expoente(agora, delta);
+            parametros.add(new Object[]{delta, expoente, expoente, id});
+        });
+
+        try {
+            tempoFlush.record(() -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(SQL_INCREMENTO, parametros)));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar usos de {} pictogramas; nova tentativa no próximo ciclo", lote.size(), e);
+            lote.forEach(this::registrar);
+            return;
+        }
+
+        long total = lote.values().stream().mapToLong(Long::longValue).sum();
+        usosGravados.increment(total);
+        // Sem avançar a versão dos dados: contador não muda a ETag (ver VersaoDadosService)
+        // O JDBC não passa pelo Hibernate: as entidades alteradas são descartadas à mão
+        lote.keySet().forEach(id -> entityManagerFactory.getCache().evict(Pictograma.class, id));
+        log.debug("Gravados {} usos em {} pictogramas", total, lote.size());
+    }
+
+    private double atrasoSegundos() {
+        long desde = pendenteDesde.get();
+        return desde == 0 ? 0 : (System.nanoTime() - desde) / 1_000_000_000.0;
+    }
+}
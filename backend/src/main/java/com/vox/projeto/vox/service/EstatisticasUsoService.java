@@ -0,0 +1,91 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.dto.UsoHoraDoDiaDTO;
+import com.vox.projeto.vox.dto.UsoPeriodoDTO;
+import com.vox.projeto.vox.dto.UsoPictogramaDTO;
+import com.vox.projeto.vox.exception.BusinessException;
+import com.vox.projeto.vox.repository.UsoPorDiaRepository;
+import com.vox.projeto.vox.repository.UsoPorHoraRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas de uso para acompanhamento terapêutico. Todas leem os
+ * agregados por hora/dia, nunca a tabela de eventos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class EstatisticasUsoService {
+
+    private static final Duration INTERVALO_MAXIMO_POR_HORA = Duration.ofDays(31);
+
+    private final UsoPorHoraRepository usoPorHoraRepository;
+    private final UsoPorDiaRepository usoPorDiaRepository;
+    private final TopPictogramasService topPictogramasService;
+    private final VocabularioService vocabularioService;
+
+    public List<UsoPeriodoDTO> usoPorHora(Long usuarioId, LocalDateTime inicio, LocalDateTime fim) {
+        validarIntervalo(inicio, fim);
+        if (Duration.between(inicio, fim).compareTo(INTERVALO_MAXIMO_POR_HORA) > 0) {
+            throw new BusinessException("Intervalo máximo por hora é de 31 dias; use a consulta por dia");
+        }
+
+        return usoPorHoraRepository.somarPorHora(usuarioId, inicio, fim).stream()
+                .map(uso -> new UsoPeriodoDTO(uso.inicio(), uso.quantidade()))
+                .toList();
+    }
+
+    public List<UsoPeriodoDTO> usoPorDia(Long usuarioId, LocalDateTime inicio, LocalDateTime fim) {
+        validarIntervalo(inicio, fim);
+
+        return usoPorDiaRepository.somarPorDia(usuarioId, inicio, fim).stream()
+                .map(uso -> new UsoPeriodoDTO(uso.inicio(), uso.quantidade()))
+                .toList();
+    }
+
+    public List<UsoHoraDoDiaDTO> usoPorHoraDoDia(Long usuarioId, LocalDateTime inicio, LocalDateTime fim) {
+        validarIntervalo(inicio, fim);
+
+        return usoPorHoraRepository.somarPorHoraDoDia(usuarioId, inicio, fim).stream()
+                .map(uso -> new UsoHoraDoDiaDTO(uso.hora(), uso.quantidade()))
+                .toList();
+    }
+
+    public List<UsoPictogramaDTO> usoPorPictograma(Long usuarioId, LocalDateTime inicio, LocalDateTime fim) {
+        validarIntervalo(inicio, fim);
+
+        return usoPorDiaRepository.somarPorPictograma(usuarioId, inicio, fim).stream()
+                .map(uso -> new UsoPictogramaDTO(uso.pictogramaId(), uso.label(), uso.quantidade()))
+                .toList();
+    }
+
+    /**
+     * Mais usados nos últimos {@code dias} dias; sem usuário, considera
+     * todos os usuários (apenas pictogramas do sistema).
+     */
+    public List<UsoPictogramaDTO> maisUsadosNaJanela(Long usuarioId, int dias, int limite) {
+        return topPictogramasService.topo(usuarioId, dias, limite);
+    }
+
+    /**
+     * Pictogramas distintos usados em cada dia, semana ou mês do intervalo.
+     */
+    public List<UsoPeriodoDTO> vocabulario(Long usuarioId, LocalDate inicio, LocalDate fim, String periodo) {
+        return vocabularioService.distintosPorPeriodo(usuarioId, inicio, fim, periodo);
+    }
+
+    private void validarIntervalo(LocalDateTime inicio, LocalDateTime fim) {
+        if (!inicio.isBefore(fim)) {
+            throw new BusinessException("Data inicial deve ser anterior à final");
+        }
+    }
+}
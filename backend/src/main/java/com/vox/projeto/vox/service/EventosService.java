@@ -0,0 +1,133 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.dto.EventoAlteracaoDTO;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Mantém as conexões SSE abertas por usuário e envia uma notificação
+ * curta a cada escrita confirmada. O envio roda fora da thread que fez o
+ * commit, para um cliente lento não segurar a requisição de escrita.
+ */
+@Service
+@Slf4j
+public class EventosService {
+
+    private static final String EVENTO_ALTERACAO = "alteracao";
+
+    private final Map<Long, Set<SseEmitter>> conexoes = new ConcurrentHashMap<>();
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMillis;
+    private final int maximoConexoesPorUsuario;
+
+    public EventosService(@Value("${vox.eventos.timeout:PT30M}") Duration timeout,
+                          @Value("${vox.eventos.maximo-conexoes-por-usuario:5}") int maximoConexoesPorUsuario) {
+        this.timeoutMillis = timeout.toMillis();
+        this.maximoConexoesPorUsuario = maximoConexoesPorUsuario;
+    }
+
+    /**
+     * Abre uma conexão para o usuário. Ao atingir o limite de conexões,
+     * a mais antiga é encerrada (normalmente uma aba esquecida).
+     *
+     * A inclusão acontece dentro do compute: com computeIfAbsent seguido de
+     * add, um remover concorrente podia descartar o conjunto do mapa entre
+     * as duas chamadas e a conexão nova nunca receberia eventos.
+     */
+    public SseEmitter conectar(Long usuarioId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> remover(usuarioId, emitter));
+        emitter.onTimeout(() -> remover(usuarioId, emitter));
+        emitter.onError(e -> remover(usuarioId, emitter));
+
+        List<SseEmitter> excedentes = new ArrayList<>();
+        Set<SseEmitter> doUsuario = conexoes.compute(usuarioId, (id, atuais) -> {
+            Set<SseEmitter> conjunto = atuais != null ? atuais : new CopyOnWriteArraySet<>();
+            Iterator<SseEmitter> antigas = conjunto.iterator();
+            while (conjunto.size() - excedentes.size() >= maximoConexoesPorUsuario && antigas.hasNext()) {
+                excedentes.add(antigas.next());
+            }
+            conjunto.removeAll(excedentes);
+            conjunto.add(emitter);
+            return conjunto;
+        });
+
+        // Fora do compute: complete dispara remover, que mexe na mesma chave
+        excedentes.forEach(SseEmitter::complete);
+
+        log.debug("Conexão SSE aberta para usuário {} ({} ativas)", usuarioId, doUsuario.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarDados(AlteracaoDadosEvent event) {
+        Set<SseEmitter> doUsuario = conexoes.get(event.usuarioId());
+        if (doUsuario == null || doUsuario.isEmpty()) {
+            return;
+        }
+
+        EventoAlteracaoDTO evento = EventoAlteracaoDTO.builder()
+                .entidade(event.entidade())
+                .id(event.entidadeId())
+                .build();
+
+        envios.execute(() -> doUsuario.forEach(emitter -> enviar(event.usuarioId(), emitter,
+                SseEmitter.event().name(EVENTO_ALTERACAO).data(evento, MediaType.APPLICATION_JSON))));
+    }
+
+    /**
+     * Comentário periódico para proxies não fecharem conexões ociosas
+     * e para descobrir clientes que já desconectaram. O send bloqueia num
+     * cliente lento, então cada envio vai para o executor próprio e a thread
+     * do agendador, compartilhada com os flushes de uso, só distribui.
+     */
+    @Scheduled(fixedDelayString = "${vox.eventos.heartbeat:PT25S}")
+    public void enviarHeartbeat() {
+        conexoes.forEach((usuarioId, doUsuario) ->
+                doUsuario.forEach(emitter -> envios.execute(() ->
+                        enviar(usuarioId, emitter, SseEmitter.event().comment("ping")))));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        envios.shutdown();
+        conexoes.values().forEach(doUsuario -> doUsuario.forEach(SseEmitter::complete));
+        conexoes.clear();
+    }
+
+    private void enviar(Long usuarioId, SseEmitter emitter, SseEmitter.SseEventBuilder evento) {
+        try {
+            emitter.send(evento);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexão SSE do usuário {} encerrada: {}", usuarioId, e.getMessage());
+            remover(usuarioId, emitter);
+        }
+    }
+
+    private void remover(Long usuarioId, SseEmitter emitter) {
+        conexoes.computeIfPresent(usuarioId, (id, doUsuario) -> {
+            doUsuario.remove(emitter);
+            return doUsuario.isEmpty() ? null : doUsuario;
+        });
+    }
+}
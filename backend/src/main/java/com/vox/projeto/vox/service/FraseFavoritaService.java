@@ -3,13 +3,18 @@ package com.vox.projeto.vox.service;
 import com.vox.projeto.vox.dto.FraseFavoritaDTO;
 import com.vox.projeto.vox.entity.FraseFavorita;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.event.EntidadeAlterada;
 import com.vox.projeto.vox.exception.BusinessException;
 import com.vox.projeto.vox.exception.ResourceNotFoundException;
 import com.vox.projeto.vox.mapper.FraseFavoritaMapper;
 import com.vox.projeto.vox.repository.FraseFavoritaRepository;
 import com.vox.projeto.vox.repository.UsuarioRepository;
+import com.vox.projeto.vox.repository.projection.FraseFavoritaResumo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +27,12 @@ import java.util.stream.Collectors;
 @Transactional
 public class FraseFavoritaService {
 
+    private static final int LIMITE_MAXIMO_MAIS_USADAS = 100;
+
     private final FraseFavoritaRepository fraseFavoritaRepository;
     private final UsuarioRepository usuarioRepository;
     private final FraseFavoritaMapper fraseFavoritaMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Criar nova frase favorita
@@ -50,6 +58,7 @@ public class FraseFavoritaService {
                 .build();
 
         FraseFavorita salva = fraseFavoritaRepository.save(frase);
+        publicarAlteracao(usuarioId, salva.getId());
         log.info("Frase favorita criada com sucesso: {}", salva.getId());
 
         return fraseFavoritaMapper.toDTO(salva);
@@ -62,9 +71,12 @@ public class FraseFavoritaService {
     public List<FraseFavoritaDTO> listarFrasesFavoritas(Long usuarioId) {
         log.info("Listando frases favoritas do usuário: {}", usuarioId);
 
-        Usuario usuario = buscarUsuarioPorId(usuarioId);
-        List<FraseFavorita> frases = fraseFavoritaRepository
-                .findByUsuarioAndAtivaOrderByOrdemAsc(usuario, true);
+        List<FraseFavoritaResumo> frases = fraseFavoritaRepository.findAtivasPorUsuario(usuarioId);
+
+        // Só consulta o usuário quando não há resultado, para manter o 404
+        if (frases.isEmpty()) {
+            buscarUsuarioPorId(usuarioId);
+        }
 
         return frases.stream()
                 .map(fraseFavoritaMapper::toDTO)
@@ -75,11 +87,14 @@ public class FraseFavoritaService {
      * Listar frases mais usadas
      */
     @Transactional(readOnly = true)
-    public List<FraseFavoritaDTO> listarMaisUsadas(Long usuarioId) {
-        log.info("Listando frases mais usadas do usuário: {}", usuarioId);
+    public List<FraseFavoritaDTO> listarMaisUsadas(Long usuarioId, int limite) {
+        log.info("Listando {} frases mais usadas do usuário: {}", limite, usuarioId);
 
-        Usuario usuario = buscarUsuarioPorId(usuarioId);
-        List<FraseFavorita> frases = fraseFavoritaRepository.findMaisUsadas(usuario);
+        List<FraseFavoritaResumo> frases = fraseFavoritaRepository.findMaisUsadas(usuarioId, Limit.of(Math.clamp(limite, 1, LIMITE_MAXIMO_MAIS_USADAS)));
+
+        if (frases.isEmpty()) {
+            buscarUsuarioPorId(usuarioId);
+        }
 
         return frases.stream()
                 .map(fraseFavoritaMapper::toDTO)
@@ -104,6 +119,7 @@ public class FraseFavoritaService {
         frase.setOrdem(dto.getOrdem());
 
         FraseFavorita atualizada = fraseFavoritaRepository.save(frase);
+        publicarAlteracao(usuarioId, atualizada.getId());
         log.info("Frase favorita atualizada com sucesso: {}", atualizada.getId());
 
         return fraseFavoritaMapper.toDTO(atualizada);
@@ -123,6 +139,7 @@ public class FraseFavoritaService {
 
         frase.incrementarUso();
         fraseFavoritaRepository.save(frase);
+        publicarAlteracao(usuarioId, fraseId);
     }
 
     /**
@@ -139,6 +156,7 @@ public class FraseFavoritaService {
 
         frase.setAtiva(false);
         fraseFavoritaRepository.save(frase);
+        publicarAlteracao(usuarioId, fraseId);
 
         log.info("Frase favorita desativada com sucesso: {}", fraseId);
     }
@@ -159,10 +177,15 @@ public class FraseFavoritaService {
             }
         }
 
+        publicarAlteracao(usuarioId, null);
         log.info("Frases favoritas reordenadas com sucesso");
     }
 
     // Métodos auxiliares
+    private void publicarAlteracao(Long usuarioId, Long fraseId) {
+        eventPublisher.publishEvent(new AlteracaoDadosEvent(usuarioId, EntidadeAlterada.FRASE_FAVORITA, fraseId));
+    }
+
     private Usuario buscarUsuarioPorId(Long id) {
         return usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
@@ -0,0 +1,176 @@
+package com.vox.projeto.vox.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vox.projeto.vox.entity.ChaveIdempotencia;
+import com.vox.projeto.vox.repository.ChaveIdempotenciaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Respostas já produzidas por Idempotency-Key.
+ *
+ * Os toques (registrar uso de pictograma ou frase) são deduplicados só em
+ * memória: cada toque vira no máximo uma entrada num cache limitado com
+ * expiração curta, sem nenhuma escrita no banco além da do próprio uso.
+ *
+ * As demais escritas (salvar mensagem) registram a chave em
+ * chaves_idempotencia na mesma transação da requisição: a chave só existe se
+ * a escrita foi commitada, junto com a resposta a repetir. A restrição única
+ * em escopo + chave faz uma repetição concorrente esperar a original e então
+ * repetir a resposta dela, inclusive em outra instância ou depois de um
+ * restart.
+ */
+@Service
+@Slf4j
+public class IdempotenciaService {
+
+    public record Resposta(int status, String contentType, String corpo) {
+    }
+
+    /**
+     * Resultado da reserva: {@code resposta} presente = chave já concluída;
+     * {@code reservada} = esta requisição executou (ou deve executar).
+     */
+    public record Reserva(boolean reservada, Optional<Resposta> resposta) {
+
+        static final Reserva RESERVADA = new Reserva(true, Optional.empty());
+        static final Reserva EM_ANDAMENTO = new Reserva(false, Optional.empty());
+
+        static Reserva concluida(Resposta resposta) {
+            return new Reserva(false, Optional.of(resposta));
+        }
+    }
+
+    // Marca no cache de toques a chave cuja requisição ainda está executando
+    private static final Resposta EXECUTANDO = new Resposta(0, null, null);
+
+    private final ChaveIdempotenciaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Resposta> respostas;
+    private final Cache<String, Resposta> toques;
+    private final Duration validade;
+
+    public IdempotenciaService(ChaveIdempotenciaRepository repository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${vox.idempotencia.maximo-chaves:50000}") long maximoChaves,
+                               @Value("${vox.idempotencia.validade:PT24H}") Duration validade,
+                               @Value("${vox.idempotencia.toques.validade:PT10M}") Duration validadeToques) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.validade = validade;
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterWrite(validade)
+                .build();
+        this.toques = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterWrite(validadeToques)
+                .build();
+    }
+
+    /**
+     * Reserva a chave de um toque só em memória. Quem recebe
+     * {@link Reserva#RESERVADA} executa e depois chama
+     * {@link #concluirToque} ou {@link #liberarToque}.
+     */
+    public Reserva reservarToque(String escopo, String chave) {
+        Resposta anterior = toques.asMap().putIfAbsent(cacheKey(escopo, chave), EXECUTANDO);
+        if (anterior == null) {
+            return Reserva.RESERVADA;
+        }
+        return anterior == EXECUTANDO ? Reserva.EM_ANDAMENTO : Reserva.concluida(anterior);
+    }
+
+    public void concluirToque(String escopo, String chave, Resposta resposta) {
+        toques.put(cacheKey(escopo, chave), resposta);
+    }
+
+    /**
+     * Desfaz a reserva quando o toque falhou, para o cliente poder repetir.
+     */
+    public void liberarToque(String escopo, String chave) {
+        toques.asMap().remove(cacheKey(escopo, chave), EXECUTANDO);
+    }
+
+    /**
+     * Executa a requisição numa transação que começa registrando a chave.
+     * A {@code execucao} devolve a resposta a registrar ou vazio quando a
+     * requisição falhou; nesse caso tudo é desfeito, inclusive a chave.
+     *
+     * @return {@link Reserva#RESERVADA} se esta requisição executou; senão a
+     *         resposta registrada por quem usou a chave antes
+     */
+    public Reserva executarRegistrando(String escopo, String chave, Supplier<Optional<Resposta>> execucao) {
+        Optional<Resposta> registrada = registrada(escopo, chave);
+        if (registrada.isPresent()) {
+            return Reserva.concluida(registrada.get());
+        }
+
+        Boolean executou = transactionTemplate.execute(status -> {
+            ChaveIdempotencia registro;
+            try {
+                // Primeiro comando da transação: uma repetição concorrente espera aqui a original terminar
+                registro = repository.saveAndFlush(ChaveIdempotencia.builder()
+                        .escopo(escopo)
+                        .chave(chave)
+                        .criadoEm(LocalDateTime.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Idempotency-Key já registrada: {} {}", escopo, chave);
+                status.setRollbackOnly();
+                return false;
+            }
+
+            Optional<Resposta> resposta = execucao.get();
+            if (resposta.isEmpty()) {
+                status.setRollbackOnly();
+                return true;
+            }
+
+            // Gravada no commit, junto com a escrita da requisição
+            registro.setStatus(resposta.get().status());
+            registro.setContentType(resposta.get().contentType());
+            registro.setCorpo(resposta.get().corpo());
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(executou)) {
+            return Reserva.RESERVADA;
+        }
+        return registrada(escopo, chave).map(Reserva::concluida).orElse(Reserva.EM_ANDAMENTO);
+    }
+
+    @Scheduled(cron = "${vox.idempotencia.limpeza.cron:0 15 4 * * *}")
+    public void removerExpiradas() {
+        Integer removidas = transactionTemplate.execute(status ->
+                repository.removerAnterioresA(LocalDateTime.now().minus(validade)));
+        log.info("Removidas {} Idempotency-Keys expiradas", removidas);
+    }
+
+    private Optional<Resposta> registrada(String escopo, String chave) {
+        Resposta emCache = respostas.getIfPresent(cacheKey(escopo, chave));
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+
+        Optional<Resposta> doBanco = repository.findByEscopoAndChave(escopo, chave)
+                .filter(existente -> existente.getStatus() != null)
+                .map(existente -> new Resposta(existente.getStatus(), existente.getContentType(), existente.getCorpo()));
+        doBanco.ifPresent(resposta -> respostas.put(cacheKey(escopo, chave), resposta));
+        return doBanco;
+    }
+
+    private String cacheKey(String escopo, String chave) {
+        return escopo + '\n' + chave;
+    }
+}
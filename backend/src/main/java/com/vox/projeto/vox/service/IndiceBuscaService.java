@@ -0,0 +1,249 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.config.ModoBusca;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.event.EntidadeAlterada;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
+import com.vox.projeto.vox.util.IndiceInvertido;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Busca de pictogramas por texto em memória, sem acento e sem LIKE no banco.
+ *
+ * O índice é carregado na inicialização e atualizado após o commit de cada
+ * alteração de pictograma ou categoria. Uma recarga completa periódica
+ * corrige eventuais divergências e atualiza o vezesUsado usado no ranking
+ * (os toques são gravados em lote direto no banco, sem evento).
+ * Também responde à busca tolerante a erros de digitação (SymSpell sobre
+ * as palavras indexadas). Fica vazio no modo BANCO (vox.busca.modo).
+ *
+ * Há um índice para os pictogramas do sistema e um por usuário, como no
+ * autocompletar: cada busca consulta só o do sistema e o de quem pergunta,
+ * então o custo não cresce com os pictogramas dos outros usuários.
+ */
+@Service
+@Slf4j
+public class IndiceBuscaService {
+
+    private static final Comparator<IndiceInvertido.Resultado<PictogramaResumo>> RELEVANCIA =
+            Comparator.<IndiceInvertido.Resultado<PictogramaResumo>>comparingInt(IndiceInvertido.Resultado::qualidade).reversed()
+                    .thenComparing(resultado -> resultado.valor().vezesUsado(), Comparator.reverseOrder())
+                    .thenComparing(resultado -> resultado.valor().label(), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparingLong(IndiceInvertido.Resultado::id);
+
+    private static final Comparator<IndiceInvertido.Aproximado<PictogramaResumo>> PROXIMIDADE =
+            Comparator.<IndiceInvertido.Aproximado<PictogramaResumo>>comparingInt(IndiceInvertido.Aproximado::distancia)
+                    .thenComparing(resultado -> resultado.valor().vezesUsado(), Comparator.reverseOrder())
+                    .thenComparing(resultado -> resultado.valor().label(), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparingLong(IndiceInvertido.Aproximado::id);
+
+    /** Índice de um dono; {@code dono} é null no do sistema. */
+    private record Particao(Long dono, IndiceInvertido<PictogramaResumo> indice) {
+    }
+
+    private final boolean habilitado;
+    private final PictogramaRepository pictogramaRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegidos pelo lock; particaoPorPictograma diz de qual índice remover
+    private Particao sistema = new Particao(null, new IndiceInvertido<>());
+    private Map<Long, Particao> usuarios = new HashMap<>();
+    private Map<Long, Particao> particaoPorPictograma = new HashMap<>();
+    private volatile Set<Long> alteradosDuranteRecarga;
+
+    public IndiceBuscaService(@Value("${vox.busca.modo:MEMORIA}") ModoBusca modo,
+                              PictogramaRepository pictogramaRepository) {
+        this.habilitado = modo == ModoBusca.MEMORIA;
+        this.pictogramaRepository = pictogramaRepository;
+    }
+
+    /**
+     * Pictogramas ativos do sistema e do usuário que correspondem ao termo,
+     * dos mais relevantes (qualidade da correspondência, depois vezesUsado)
+     * para os menos.
+     */
+    public List<PictogramaResumo> buscar(String termo, Long usuarioId) {
+        List<IndiceInvertido.Resultado<PictogramaResumo>> resultados;
+
+        lock.readLock().lock();
+        try {
+            resultados = new ArrayList<>(sistema.indice().buscar(termo));
+            Particao doUsuario = usuarios.get(usuarioId);
+            if (doUsuario != null) {
+                resultados.addAll(doUsuario.indice().buscar(termo));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return resultados.stream()
+                .sorted(RELEVANCIA)
+                .map(IndiceInvertido.Resultado::valor)
+                .toList();
+    }
+
+    /**
+     * Pictogramas ativos com palavras a poucas edições do termo ("agoa",
+     * "cachoro"), dos mais próximos para os menos e, empatados, dos mais usados.
+     */
+    public List<PictogramaResumo> buscarAproximado(String termo, Long usuarioId) {
+        List<IndiceInvertido.Aproximado<PictogramaResumo>> resultados;
+
+        lock.readLock().lock();
+        try {
+            resultados = new ArrayList<>(sistema.indice().buscarAproximado(termo));
+            Particao doUsuario = usuarios.get(usuarioId);
+            if (doUsuario != null) {
+                resultados.addAll(doUsuario.indice().buscarAproximado(termo));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return resultados.stream()
+                .sorted(PROXIMIDADE)
+                .map(IndiceInvertido.Aproximado::valor)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${vox.busca.indice.recarga:PT10M}", fixedDelayString = "${vox.busca.indice.recarga:PT10M}")
+    public synchronized void recarregar() {
+        if (!habilitado) {
+            return;
+        }
+
+        // Alterações commitadas durante a carga são reaplicadas sobre o índice novo
+        Set<Long> alterados = ConcurrentHashMap.newKeySet();
+        alteradosDuranteRecarga = alterados;
+
+        long inicio = System.nanoTime();
+        Particao novoSistema = new Particao(null, new IndiceInvertido<>());
+        Map<Long, Particao> novosUsuarios = new HashMap<>();
+        Map<Long, Particao> novasParticoes = new HashMap<>();
+        for (PictogramaResumo resumo : pictogramaRepository.findAtivosParaIndice()) {
+            Particao particao = particao(resumo, novoSistema, novosUsuarios);
+            if (particao != null) {
+                particao.indice().adicionar(resumo.id(), resumo.label(), resumo.labelAlternativo(), resumo);
+                novasParticoes.put(resumo.id(), particao);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            sistema = novoSistema;
+            usuarios = novosUsuarios;
+            particaoPorPictograma = novasParticoes;
+            alteradosDuranteRecarga = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        alterados.forEach(this::atualizarPictograma);
+        log.info("Índice de busca carregado: {} pictogramas do sistema e {} de {} usuários em {} ms",
+                novoSistema.indice().tamanho(), novasParticoes.size() - novoSistema.indice().tamanho(),
+                novosUsuarios.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarDados(AlteracaoDadosEvent event) {
+        if (!habilitado) {
+            return;
+        }
+
+        if (event.entidade() == EntidadeAlterada.PICTOGRAMA) {
+            Set<Long> alterados = alteradosDuranteRecarga;
+            if (alterados != null) {
+                alterados.add(event.entidadeId());
+            }
+            atualizarPictograma(event.entidadeId());
+        } else if (event.entidade() == EntidadeAlterada.CATEGORIA) {
+            atualizarCategoria(event.entidadeId());
+        }
+    }
+
+    private void atualizarPictograma(Long pictogramaId) {
+        PictogramaResumo resumo = pictogramaRepository.findResumoPorId(pictogramaId).orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            remover(pictogramaId);
+            if (resumo != null && resumo.ativo()) {
+                indexar(resumo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Nome e cor da categoria vão junto no resultado da busca
+    private void atualizarCategoria(Long categoriaId) {
+        List<PictogramaResumo> ativos = pictogramaRepository.findAtivosDaCategoria(categoriaId);
+
+        lock.writeLock().lock();
+        try {
+            Stream.concat(Stream.of(sistema), usuarios.values().stream())
+                    .flatMap(particao -> particao.indice().valores().stream())
+                    .filter(resumo -> Objects.equals(resumo.categoriaId(), categoriaId))
+                    .map(PictogramaResumo::id)
+                    .toList()
+                    .forEach(this::remover);
+            ativos.forEach(this::indexar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Os pictogramas do sistema valem para todos; os demais, só para o dono
+    private static Particao particao(PictogramaResumo resumo, Particao sistema, Map<Long, Particao> usuarios) {
+        if (Boolean.TRUE.equals(resumo.padrao())) {
+            return sistema;
+        }
+        if (resumo.usuarioId() == null) {
+            return null;
+        }
+        return usuarios.computeIfAbsent(resumo.usuarioId(), dono -> new Particao(dono, new IndiceInvertido<>()));
+    }
+
+    // Chamar com o lock de escrita
+    private void indexar(PictogramaResumo resumo) {
+        Particao particao = particao(resumo, sistema, usuarios);
+        if (particao != null) {
+            particao.indice().adicionar(resumo.id(), resumo.label(), resumo.labelAlternativo(), resumo);
+            particaoPorPictograma.put(resumo.id(), particao);
+        }
+    }
+
+    // Chamar com o lock de escrita
+    private void remover(Long pictogramaId) {
+        Particao particao = particaoPorPictograma.remove(pictogramaId);
+        if (particao == null) {
+            return;
+        }
+
+        particao.indice().remover(pictogramaId);
+        if (particao.dono() != null && particao.indice().tamanho() == 0) {
+            usuarios.remove(particao.dono());
+        }
+    }
+}
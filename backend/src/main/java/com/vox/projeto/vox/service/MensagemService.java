@@ -9,6 +9,7 @@ import com.vox.projeto.vox.exception.ResourceNotFoundException;
 import com.vox.projeto.vox.mapper.MensagemMapper;
 import com.vox.projeto.vox.repository.MensagemRepository;
 import com.vox.projeto.vox.repository.UsuarioRepository;
+import com.vox.projeto.vox.repository.projection.MensagemResumo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -16,6 +17,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +31,7 @@ public class MensagemService {
     private final MensagemRepository mensagemRepository;
     private final UsuarioRepository usuarioRepository;
     private final MensagemMapper mensagemMapper;
+    private final VocabularioService vocabularioService;
 
     /**
      * Salvar nova mensagem
@@ -49,6 +52,7 @@ public class MensagemService {
                 .build();
 
         Mensagem salva = mensagemRepository.save(mensagem);
+        vocabularioService.registrarMensagem(usuarioId, dto.getConteudoJson(), LocalDate.now());
         log.info("Mensagem salva com sucesso: {}", salva.getId());
 
         return mensagemMapper.toDTO(salva);
@@ -61,8 +65,12 @@ public class MensagemService {
     public Page<MensagemDTO> listarMensagens(Long usuarioId, Pageable pageable) {
         log.info("Listando mensagens do usuário: {}", usuarioId);
 
-        Usuario usuario = buscarUsuarioPorId(usuarioId);
-        Page<Mensagem> mensagens = mensagemRepository.findByUsuarioOrderByCriadoEmDesc(usuario, pageable);
+        Page<MensagemResumo> mensagens = mensagemRepository.findResumosPorUsuario(usuarioId, pageable);
+
+        // Só consulta o usuário quando não há resultado, para manter o 404
+        if (mensagens.isEmpty()) {
+            buscarUsuarioPorId(usuarioId);
+        }
 
         return mensagens.map(mensagemMapper::toDTO);
     }
@@ -74,8 +82,11 @@ public class MensagemService {
     public List<MensagemDTO> listarFavoritas(Long usuarioId) {
         log.info("Listando mensagens favoritas do usuário: {}", usuarioId);
 
-        Usuario usuario = buscarUsuarioPorId(usuarioId);
-        List<Mensagem> mensagens = mensagemRepository.findByUsuarioAndFavoritaTrueOrderByCriadoEmDesc(usuario);
+        List<MensagemResumo> mensagens = mensagemRepository.findFavoritasPorUsuario(usuarioId);
+
+        if (mensagens.isEmpty()) {
+            buscarUsuarioPorId(usuarioId);
+        }
 
         return mensagens.stream()
                 .map(mensagemMapper::toDTO)
@@ -89,9 +100,12 @@ public class MensagemService {
     public List<MensagemDTO> listarPorPeriodo(Long usuarioId, LocalDateTime inicio, LocalDateTime fim) {
         log.info("Listando mensagens do período {} a {} para usuário: {}", inicio, fim, usuarioId);
 
-        Usuario usuario = buscarUsuarioPorId(usuarioId);
-        List<Mensagem> mensagens = mensagemRepository
-                .findByUsuarioAndCriadoEmBetweenOrderByCriadoEmDesc(usuario, inicio, fim);
+        List<MensagemResumo> mensagens = mensagemRepository
+                .findPorUsuarioNoPeriodo(usuarioId, inicio, fim);
+
+        if (mensagens.isEmpty()) {
+            buscarUsuarioPorId(usuarioId);
+        }
 
         return mensagens.stream()
                 .map(mensagemMapper::toDTO)
@@ -147,9 +161,12 @@ public class MensagemService {
         long totalMensagens = mensagemRepository.countByUsuario(usuario);
         long mensagensPeriodo = mensagemRepository.countByUsuarioAndCriadoEmBetween(usuario, inicio, fim);
 
+        long pictogramasDistintos = vocabularioService.distintos(usuarioId, inicio.toLocalDate(), fim.toLocalDate());
+
         return EstatisticasDTO.builder()
                 .totalMensagens(totalMensagens)
                 .mensagensNoPeriodo(mensagensPeriodo)
+                .pictogramasDistintosNoPeriodo(pictogramasDistintos)
                 .build();
     }
 
@@ -160,7 +177,7 @@ public class MensagemService {
     }
 
     private Mensagem buscarMensagemPorId(Long id) {
-        return mensagemRepository.findById(id)
+        return mensagemRepository.findWithUsuarioById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Mensagem não encontrada"));
     }
 }
\ No newline at end of file
@@ -1,22 +1,37 @@
 package com.vox.projeto.vox.service;
 
+import com.vox.projeto.vox.dto.PaginaCursorDTO;
 import com.vox.projeto.vox.dto.PictogramaCreateDTO;
 import com.vox.projeto.vox.dto.PictogramaDTO;
 import com.vox.projeto.vox.entity.Categoria;
 import com.vox.projeto.vox.entity.Pictograma;
 import com.vox.projeto.vox.entity.Usuario;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.event.EntidadeAlterada;
 import com.vox.projeto.vox.exception.BusinessException;
 import com.vox.projeto.vox.exception.ResourceNotFoundException;
 import com.vox.projeto.vox.mapper.PictogramaMapper;
 import com.vox.projeto.vox.repository.CategoriaRepository;
 import com.vox.projeto.vox.repository.PictogramaRepository;
 import com.vox.projeto.vox.repository.UsuarioRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
+import com.vox.projeto.vox.util.Cursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,10 +40,24 @@ import java.util.stream.Collectors;
 @Transactional
 public class PictogramaService {
 
+    private static final int MAXIMO_IDS_POR_LOTE = 500;
+    private static final int LIMITE_MAXIMO_MAIS_USADOS = 100;
+    private static final int LIMITE_MAXIMO_BUSCA = 100;
+    private static final int LIMITE_MAXIMO_PAGINA_BUSCA = 50;
+    private static final long FASE_EXATA = 0;
+    private static final long FASE_APROXIMADA = 1;
+
     private final PictogramaRepository pictogramaRepository;
     private final CategoriaRepository categoriaRepository;
     private final UsuarioRepository usuarioRepository;
     private final PictogramaMapper pictogramaMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContadorUsoService contadorUsoService;
+    private final RegistroUsoService registroUsoService;
+    private final TopPictogramasService topPictogramasService;
+    private final VocabularioService vocabularioService;
+    private final BuscaPictogramaService buscaPictogramaService;
+    private final AutocompletarService autocompletarService;
 
     /**
      * Criar novo pictograma personalizado
@@ -60,6 +89,10 @@ public class PictogramaService {
                 .build();
 
         Pictograma salvo = pictogramaRepository.save(pictograma);
+        if (contaNaCategoria(salvo, categoria)) {
+            categoriaRepository.ajustarQuantidadePictogramas(categoria.getId(), 1);
+        }
+        publicarAlteracao(usuarioId, salvo.getId());
         log.info("Pictograma criado com sucesso: {}", salvo.getId());
 
         return pictogramaMapper.toDTO(salvo);
@@ -72,17 +105,51 @@ public class PictogramaService {
     public List<PictogramaDTO> listarPorCategoria(Long categoriaId, Long usuarioId) {
         log.info("Listando pictogramas da categoria {} para usuário: {}", categoriaId, usuarioId);
 
-        Categoria categoria = buscarCategoriaPorId(categoriaId);
-        Usuario usuario = buscarUsuarioPorId(usuarioId);
+        List<PictogramaResumo> pictogramas = pictogramaRepository
+                .findPictogramasDisponiveisParaUsuario(usuarioId, categoriaId);
 
-        List<Pictograma> pictogramas = pictogramaRepository
-                .findPictogramasDisponiveisParaUsuario(usuario, categoria);
+        // Só consulta a categoria quando não há resultado, para manter o 404
+        if (pictogramas.isEmpty()) {
+            buscarCategoriaPorId(categoriaId);
+        }
 
         return pictogramas.stream()
                 .map(pictogramaMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Buscar vários pictogramas por id em uma única consulta, na ordem pedida.
+     * Ids inexistentes ou de outros usuários são omitidos; inativos são mantidos
+     * porque ainda aparecem em mensagens e frases salvas.
+     */
+    @Transactional(readOnly = true)
+    public List<PictogramaDTO> buscarPorIds(List<Long> ids, Long usuarioId) {
+        log.info("Buscando {} pictogramas por id para usuário: {}", ids.size(), usuarioId);
+
+        Set<Long> idsUnicos = new LinkedHashSet<>(ids);
+        idsUnicos.remove(null);
+
+        if (idsUnicos.isEmpty()) {
+            return List.of();
+        }
+
+        if (idsUnicos.size() > MAXIMO_IDS_POR_LOTE) {
+            throw new BusinessException("É possível buscar no máximo " + MAXIMO_IDS_POR_LOTE + " pictogramas por vez");
+        }
+
+        Map<Long, PictogramaResumo> encontrados = pictogramaRepository
+                .findDisponiveisPorIds(usuarioId, idsUnicos)
+                .stream()
+                .collect(Collectors.toMap(PictogramaResumo::id, Function.identity()));
+
+        return idsUnicos.stream()
+                .map(encontrados::get)
+                .filter(Objects::nonNull)
+                .map(pictogramaMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Buscar pictogramas mais usados
      */
@@ -90,25 +157,75 @@ public class PictogramaService {
     public List<PictogramaDTO> listarMaisUsados(Long usuarioId, int limite) {
         log.info("Listando {} pictogramas mais usados do usuário: {}", limite, usuarioId);
 
-        Usuario usuario = buscarUsuarioPorId(usuarioId);
-        List<Pictograma> pictogramas = pictogramaRepository.findMaisUsadosPorUsuario(usuario);
+        List<PictogramaResumo> pictogramas = pictogramaRepository.findMaisUsadosPorUsuario(usuarioId, Limit.of(Math.clamp(limite, 1, LIMITE_MAXIMO_MAIS_USADOS)));
+
+        if (pictogramas.isEmpty()) {
+            buscarUsuarioPorId(usuarioId);
+        }
 
         return pictogramas.stream()
-                .limit(limite)
                 .map(pictogramaMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Buscar pictogramas por texto
+     * Buscar pictogramas do sistema e do usuário por texto (sem acento), dos
+     * mais relevantes para os menos, no modo configurado em vox.busca.modo.
+     * Sem nenhum resultado exato, tenta a busca tolerante a erros de
+     * digitação ("agoa" encontra "Água").
+     *
+     * O cursor guarda a fase (exata ou aproximada) e o deslocamento. A busca
+     * alcança no máximo {@value #LIMITE_MAXIMO_BUSCA} resultados, o que limita
+     * o OFFSET no banco e o tempo de cada página.
      */
-    @Transactional(readOnly = true)
-    public List<PictogramaDTO> buscarPorTexto(String termo) {
-        log.info("Buscando pictogramas com termo: {}", termo);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PaginaCursorDTO<PictogramaDTO> buscarPorTexto(String termo, Long usuarioId, String cursor, int limite) {
+        log.info("Buscando pictogramas com termo: {} para usuário ID: {}", termo, usuarioId);
 
-        List<Pictograma> pictogramas = pictogramaRepository.buscarPorLabelOuAlternativo(termo);
+        long fase = FASE_EXATA;
+        int deslocamento = 0;
 
-        return pictogramas.stream()
+        if (cursor != null && !cursor.isBlank()) {
+            long[] posicao = Cursor.decodificar(cursor, 2);
+            fase = posicao[0] == FASE_APROXIMADA ? FASE_APROXIMADA : FASE_EXATA;
+            deslocamento = Math.clamp(posicao[1], 0, LIMITE_MAXIMO_BUSCA);
+        }
+
+        int tamanho = Math.min(Math.clamp(limite, 1, LIMITE_MAXIMO_PAGINA_BUSCA), LIMITE_MAXIMO_BUSCA - deslocamento);
+        if (tamanho <= 0) {
+            return PaginaCursorDTO.<PictogramaDTO>builder()
+                    .itens(List.of())
+                    .build();
+        }
+
+        // Busca um item a mais só para saber se existe próxima página
+        List<PictogramaResumo> linhas = fase == FASE_APROXIMADA
+                ? buscaPictogramaService.buscarAproximado(termo, usuarioId, tamanho + 1, deslocamento)
+                : buscaPictogramaService.buscar(termo, usuarioId, tamanho + 1, deslocamento);
+
+        if (linhas.isEmpty() && fase == FASE_EXATA && deslocamento == 0) {
+            fase = FASE_APROXIMADA;
+            linhas = buscaPictogramaService.buscarAproximado(termo, usuarioId, tamanho + 1, 0);
+        }
+
+        boolean temMais = linhas.size() > tamanho && deslocamento + tamanho < LIMITE_MAXIMO_BUSCA;
+        List<PictogramaResumo> pagina = linhas.size() > tamanho ? linhas.subList(0, tamanho) : linhas;
+
+        return PaginaCursorDTO.<PictogramaDTO>builder()
+                .itens(pagina.stream().map(pictogramaMapper::toDTO).toList())
+                .proximoCursor(temMais ? Cursor.codificar(fase, deslocamento + tamanho) : null)
+                .build();
+    }
+
+    /**
+     * Completar o que está sendo digitado com os pictogramas do sistema e do
+     * usuário, dos mais usados para os menos. Sem consulta ao banco.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PictogramaDTO> autocompletar(String prefixo, Long usuarioId, int limite) {
+        log.debug("Autocompletando '{}' para usuário: {}", prefixo, usuarioId);
+
+        return autocompletarService.completar(usuarioId, prefixo, limite).stream()
                 .map(pictogramaMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -139,21 +256,41 @@ public class PictogramaService {
         pictograma.setTipo(dto.getTipo());
         pictograma.setOrdem(dto.getOrdem() != null ? dto.getOrdem() : pictograma.getOrdem());
 
+        if (dto.getCategoriaId() != null && !dto.getCategoriaId().equals(pictograma.getCategoria().getId())) {
+            moverParaCategoria(pictograma, buscarCategoriaPorId(dto.getCategoriaId()), usuarioId);
+        }
+
         Pictograma atualizado = pictogramaRepository.save(pictograma);
+        publicarAlteracao(usuarioId, atualizado.getId());
         log.info("Pictograma atualizado com sucesso: {}", atualizado.getId());
 
         return pictogramaMapper.toDTO(atualizado);
     }
 
     /**
-     * Registrar uso do pictograma
+     * Registrar uso do pictograma. O contador é gravado em lote pelo
+     * ContadorUsoService; aqui só se valida que o pictograma existe
+     * (normalmente resolvido pelo cache de segundo nível, sem SQL).
+     * Com o usuário informado o toque também entra no histórico de uso.
      */
-    public void registrarUso(Long pictogramaId) {
+    @Transactional(readOnly = true)
+    public void registrarUso(Long pictogramaId, Long usuarioId, String dispositivo) {
         log.debug("Registrando uso do pictograma: {}", pictogramaId);
 
-        Pictograma pictograma = buscarPictogramaPorId(pictogramaId);
-        pictograma.incrementarUso();
-        pictogramaRepository.save(pictograma);
+        Pictograma pictograma = pictogramaRepository.findById(pictogramaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Pictograma não encontrado"));
+
+        if (usuarioId != null) {
+            if (!pictograma.getPadrao() && !pictograma.getUsuario().getId().equals(usuarioId)) {
+                throw new BusinessException("Você não pode usar este pictograma");
+            }
+            registroUsoService.registrar(usuarioId, pictogramaId, pictograma.getCategoria().getId(),
+                    dispositivo, LocalDateTime.now());
+            vocabularioService.registrar(usuarioId, pictogramaId, LocalDate.now());
+        }
+
+        contadorUsoService.registrar(pictogramaId);
+        topPictogramasService.registrar(usuarioId, pictogramaId, LocalDate.now());
     }
 
     /**
@@ -172,13 +309,48 @@ public class PictogramaService {
             throw new BusinessException("Você não pode desativar este pictograma");
         }
 
+        if (pictograma.getAtivo() && contaNaCategoria(pictograma, pictograma.getCategoria())) {
+            categoriaRepository.ajustarQuantidadePictogramas(pictograma.getCategoria().getId(), -1);
+        }
+
         pictograma.setAtivo(false);
         pictogramaRepository.save(pictograma);
+        publicarAlteracao(usuarioId, pictogramaId);
 
         log.info("Pictograma desativado com sucesso: {}", pictogramaId);
     }
 
     // Métodos auxiliares
+    private void moverParaCategoria(Pictograma pictograma, Categoria destino, Long usuarioId) {
+        if (!destino.getPadrao() && !destino.getUsuario().getId().equals(usuarioId)) {
+            throw new BusinessException("Você não pode mover o pictograma para esta categoria");
+        }
+
+        Categoria origem = pictograma.getCategoria();
+
+        if (pictograma.getAtivo()) {
+            if (contaNaCategoria(pictograma, origem)) {
+                categoriaRepository.ajustarQuantidadePictogramas(origem.getId(), -1);
+            }
+            if (contaNaCategoria(pictograma, destino)) {
+                categoriaRepository.ajustarQuantidadePictogramas(destino.getId(), 1);
+            }
+        }
+
+        pictograma.setCategoria(destino);
+    }
+
+    // O contador da categoria considera só pictogramas do mesmo dono (sistema ou usuário)
+    private boolean contaNaCategoria(Pictograma pictograma, Categoria categoria) {
+        Long donoCategoria = categoria.getUsuario() != null ? categoria.getUsuario().getId() : null;
+        Long donoPictograma = pictograma.getUsuario() != null ? pictograma.getUsuario().getId() : null;
+        return Objects.equals(donoCategoria, donoPictograma);
+    }
+
+    private void publicarAlteracao(Long usuarioId, Long pictogramaId) {
+        eventPublisher.publishEvent(new AlteracaoDadosEvent(usuarioId, EntidadeAlterada.PICTOGRAMA, pictogramaId));
+    }
+
     private Usuario buscarUsuarioPorId(Long id) {
         return usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
@@ -190,7 +362,7 @@ public class PictogramaService {
     }
 
     private Pictograma buscarPictogramaPorId(Long id) {
-        return pictogramaRepository.findById(id)
+        return pictogramaRepository.findWithCategoriaById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pictograma não encontrado"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.vox.projeto.vox.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Grava cada toque em eventos_uso e mantém os agregados por hora e por dia.
+ *
+ * A requisição só enfileira o evento; um job periódico grava a fila em
+ * lotes (INSERT em batch) e, na mesma transação, soma o lote nos agregados
+ * com INSERT ... ON CONFLICT DO UPDATE. Assim os agregados ficam sempre
+ * em dia sem reprocessar a tabela de eventos. Se a gravação falhar, o lote
+ * volta para a fila e é tentado de novo nos ciclos seguintes, até
+ * vox.uso.eventos.tentativas vezes. Só é descartado (e contado) o que não
+ * cabe mais na fila ou esgotou as tentativas, em vez de segurar o toque do
+ * usuário. Um lote recusado pelo banco por violação de restrição é gravado
+ * evento a evento, e só os eventos recusados são descartados.
+ */
+@Service
+@Slf4j
+public class RegistroUsoService {
+
+    private static final String SQL_EVENTO = """
+            INSERT INTO eventos_uso (usuario_id, pictograma_id, categoria_id, dispositivo, ocorrido_em)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String SQL_AGREGADO = """
+            INSERT INTO %1$s (usuario_id, inicio, pictograma_id, quantidade) VALUES (?, ?, ?, ?)
+            ON CONFLICT (usuario_id, inicio, pictograma_id)
+            DO UPDATE SET quantidade = %1$s.quantidade + EXCLUDED.quantidade
+            """;
+
+    private final BlockingQueue<EventoPendente> fila;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final int maximoTentativas;
+    private final Counter descartados;
+
+    public RegistroUsoService(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${vox.uso.eventos.capacidade-fila:100000}") int capacidadeFila,
+                              @Value("${vox.uso.eventos.tamanho-lote:1000}") int tamanhoLote,
+                              @Value("${vox.uso.eventos.tentativas:60}") int maximoTentativas) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoTentativas = maximoTentativas;
+        this.fila = new LinkedBlockingQueue<>(capacidadeFila);
+
+        this.descartados = Counter.builder("vox.uso.eventos.descartados")
+                .description("Eventos de uso descartados com a fila cheia ou sem mais tentativas")
+                .register(meterRegistry);
+        Gauge.builder("vox.uso.eventos.fila", fila, BlockingQueue::size)
+                .description("Eventos de uso aguardando gravação")
+                .register(meterRegistry);
+    }
+
+    public void registrar(Long usuarioId, Long pictogramaId, Long categoriaId, String dispositivo, LocalDateTime ocorridoEm) {
+        if (!fila.offer(new EventoPendente(usuarioId, pictogramaId, categoriaId, dispositivo, ocorridoEm, 0))) {
+            descartados.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vox.uso.eventos.intervalo:PT2S}")
+    public void gravarPendentes() {
+        if (fila.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            drenar();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        flushLock.lock();
+        try {
+            drenar();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drenar() {
+        List<EventoPendente> lote = new ArrayList<>(tamanhoLote);
+        while (fila.drainTo(lote, tamanhoLote) > 0) {
+            try {
+                gravar(lote);
+            } catch (DataIntegrityViolationException e) {
+                // Repetir o lote falharia de novo: isola o evento inválido em vez de atrasar os outros
+                log.warn("Lote de {} eventos de uso recusado pelo banco; gravando um a um", lote.size(), e);
+                if (!gravarIsolados(lote)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // Eventos e agregados são gravados juntos, então o lote falha inteiro e os
+                // agregados nunca divergem dos eventos. O restante da fila fica para o próximo ciclo.
+                log.error("Falha ao gravar {} eventos de uso; nova tentativa no próximo ciclo", lote.size(), e);
+                devolver(lote);
+                return;
+            }
+            lote.clear();
+        }
+    }
+
+    /**
+     * @return false se uma falha que não é do evento interrompeu a gravação
+     *         (o que faltava voltou para a fila)
+     */
+    private boolean gravarIsolados(List<EventoPendente> lote) {
+        int recusados = 0;
+        try {
+            for (int i = 0; i < lote.size(); i++) {
+                try {
+                    gravar(List.of(lote.get(i)));
+                } catch (DataIntegrityViolationException e) {
+                    log.warn("Evento de uso descartado por violar restrição do banco: {}", lote.get(i), e);
+                    recusados++;
+                } catch (RuntimeException e) {
+                    log.error("Falha ao gravar eventos de uso; nova tentativa no próximo ciclo", e);
+                    devolver(lote.subList(i, lote.size()));
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            if (recusados > 0) {
+                descartados.increment(recusados);
+            }
+        }
+    }
+
+    private void devolver(List<EventoPendente> lote) {
+        int perdidos = 0;
+        for (EventoPendente evento : lote) {
+            int tentativas = evento.tentativas() + 1;
+            if (tentativas >= maximoTentativas || !fila.offer(evento.comTentativas(tentativas))) {
+                perdidos++;
+            }
+        }
+
+        if (perdidos > 0) {
+            log.warn("{} eventos de uso descartados (fila cheia ou sem mais tentativas)", perdidos);
+            descartados.increment(perdidos);
+        }
+    }
+
+    private void gravar(List<EventoPendente> lote) {
+        List<Object[]> eventos = new ArrayList<>(lote.size());
+        Map<Agregado, Long> porHora = new TreeMap<>();
+        Map<Agregado, Long> porDia = new TreeMap<>();
+
+        for (EventoPendente evento : lote) {
+            eventos.add(new Object[]{evento.usuarioId(), evento.pictogramaId(), evento.categoriaId(),
+                    evento.dispositivo(), Timestamp.valueOf(evento.ocorridoEm())});
+
+            LocalDateTime hora = evento.ocorridoEm().truncatedTo(ChronoUnit.HOURS);
+            porHora.merge(new Agregado(evento.usuarioId(), hora, evento.pictogramaId()), 1L, Long::sum);
+            porDia.merge(new Agregado(evento.usuarioId(), hora.truncatedTo(ChronoUnit.DAYS), evento.pictogramaId()), 1L, Long::sum);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(SQL_EVENTO, eventos);
+            jdbcTemplate.batchUpdate(SQL_AGREGADO.formatted("uso_por_hora"), parametros(porHora));
+            jdbcTemplate.batchUpdate(SQL_AGREGADO.formatted("uso_por_dia"), parametros(porDia));
+        });
+
+        log.debug("Gravados {} eventos de uso ({} agregados por hora)", lote.size(), porHora.size());
+    }
+
+    private List<Object[]> parametros(Map<Agregado, Long> agregados) {
+        List<Object[]> parametros = new ArrayList<>(agregados.size());
+        agregados.forEach((chave, quantidade) -> parametros.add(new Object[]{
+                chave.usuarioId(), Timestamp.valueOf(chave.inicio()), chave.pictogramaId(), quantidade}));
+        return parametros;
+    }
+
+    private record EventoPendente(Long usuarioId, Long pictogramaId, Long categoriaId, String dispositivo,
+                                  LocalDateTime ocorridoEm, int tentativas) {
+
+        EventoPendente comTentativas(int tentativas) {
+            return new EventoPendente(usuarioId, pictogramaId, categoriaId, dispositivo, ocorridoEm, tentativas);
+        }
+    }
+
+    /**
+     * Ordenado para que instâncias concorrentes travem as linhas dos agregados na mesma ordem.
+     */
+    private record Agregado(Long usuarioId, LocalDateTime inicio, Long pictogramaId) implements Comparable<Agregado> {
+
+        @Override
+        public int compareTo(Agregado outro) {
+            int cmp = usuarioId.compareTo(outro.usuarioId);
+            if (cmp == 0) {
+                cmp = inicio.compareTo(outro.inicio);
+            }
+            return cmp != 0 ? cmp : pictogramaId.compareTo(outro.pictogramaId);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.dto.ConfiguracaoUsuarioDTO;
+import com.vox.projeto.vox.dto.SincronizacaoDTO;
+import com.vox.projeto.vox.exception.ResourceNotFoundException;
+import com.vox.projeto.vox.mapper.CategoriaMapper;
+import com.vox.projeto.vox.mapper.ConfiguracaoUsuarioMapper;
+import com.vox.projeto.vox.mapper.FraseFavoritaMapper;
+import com.vox.projeto.vox.mapper.PictogramaMapper;
+import com.vox.projeto.vox.repository.CategoriaRepository;
+import com.vox.projeto.vox.repository.ConfiguracaoUsuarioRepository;
+import com.vox.projeto.vox.repository.FraseFavoritaRepository;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.UsuarioRepository;
+import com.vox.projeto.vox.util.Cursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Sincronização incremental para dispositivos offline: devolve tudo o que
+ * mudou desde o cursor, incluindo linhas desativadas.
+ *
+ * atualizado_em vem sempre do relógio do banco (hora de início da transação
+ * que gravou). O cursor é o início da transação aberta mais antiga no
+ * momento da leitura, não o relógio da aplicação: uma transação que ainda
+ * não fez commit gravou, ou vai gravar, um instante igual ou posterior a
+ * ele, então aparece na próxima sincronização por mais que demore. As
+ * linhas repetidas são idempotentes para o cliente (upsert por id).
+ * O usuário do banco precisa enxergar as sessões da aplicação em
+ * pg_stat_activity (mesmo usuário ou pg_read_all_stats).
+ */
+@Service
+@Slf4j
+public class SincronizacaoService {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String SQL_HORIZONTE = """
+            SELECT LEAST(clock_timestamp(), MIN(xact_start))::timestamp
+            FROM pg_stat_activity
+            WHERE datname = current_database() AND xact_start IS NOT NULL
+            """;
+
+    private final CategoriaRepository categoriaRepository;
+    private final PictogramaRepository pictogramaRepository;
+    private final FraseFavoritaRepository fraseFavoritaRepository;
+    private final ConfiguracaoUsuarioRepository configuracaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final CategoriaMapper categoriaMapper;
+    private final PictogramaMapper pictogramaMapper;
+    private final FraseFavoritaMapper fraseFavoritaMapper;
+    private final ConfiguracaoUsuarioMapper configuracaoMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leituraConsistente;
+
+    public SincronizacaoService(CategoriaRepository categoriaRepository,
+                                PictogramaRepository pictogramaRepository,
+                                FraseFavoritaRepository fraseFavoritaRepository,
+                                ConfiguracaoUsuarioRepository configuracaoRepository,
+                                UsuarioRepository usuarioRepository,
+                                CategoriaMapper categoriaMapper,
+                                PictogramaMapper pictogramaMapper,
+                                FraseFavoritaMapper fraseFavoritaMapper,
+                                ConfiguracaoUsuarioMapper configuracaoMapper,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.categoriaRepository = categoriaRepository;
+        this.pictogramaRepository = pictogramaRepository;
+        this.fraseFavoritaRepository = fraseFavoritaRepository;
+        this.configuracaoRepository = configuracaoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.categoriaMapper = categoriaMapper;
+        this.pictogramaMapper = pictogramaMapper;
+        this.fraseFavoritaMapper = fraseFavoritaMapper;
+        this.configuracaoMapper = configuracaoMapper;
+        this.jdbcTemplate = jdbcTemplate;
+
+        // REPEATABLE_READ garante que as quatro consultas vejam o mesmo snapshot
+        this.leituraConsistente = new TransactionTemplate(transactionManager);
+        this.leituraConsistente.setReadOnly(true);
+        this.leituraConsistente.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Sem cursor devolve o estado completo (inclusive linhas desativadas,
+     * para o dispositivo reconciliar um cache local antigo).
+     */
+    public SincronizacaoDTO sincronizar(Long usuarioId, String cursor) {
+        if (!usuarioRepository.existsById(usuarioId)) {
+            throw new ResourceNotFoundException("Usuário não encontrado");
+        }
+
+        // Lido antes do snapshot: toda transação invisível para a leitura abaixo começou depois dele
+        LocalDateTime horizonte = jdbcTemplate.queryForObject(SQL_HORIZONTE, LocalDateTime.class);
+
+        // atualizado_em tem precisão de microssegundos; recuar 1 µs torna o "> desde" inclusivo
+        LocalDateTime desde = cursor == null || cursor.isBlank()
+                ? INICIO
+                : INICIO.plus(Cursor.decodificar(cursor, 1)[0] - 1, ChronoUnit.MICROS);
+
+        log.info("Sincronizando usuário {} desde {}", usuarioId, desde);
+
+        return leituraConsistente.execute(status -> {
+            ConfiguracaoUsuarioDTO configuracao = configuracaoRepository
+                    .findByUsuarioIdAndAtualizadoEmAfter(usuarioId, desde)
+                    .map(configuracaoMapper::toDTO)
+                    .orElse(null);
+
+            return SincronizacaoDTO.builder()
+                    .categorias(categoriaRepository.findAlteradasDesde(usuarioId, desde).stream()
+                            .map(categoriaMapper::toDTO)
+                            .toList())
+                    .pictogramas(pictogramaRepository.findAlteradosDesde(usuarioId, desde).stream()
+                            .map(pictogramaMapper::toDTO)
+                            .toList())
+                    .frasesFavoritas(fraseFavoritaRepository.findAlteradasDesde(usuarioId, desde).stream()
+                            .map(fraseFavoritaMapper::toDTO)
+                            .toList())
+                    .configuracao(configuracao)
+                    .proximoCursor(Cursor.codificar(ChronoUnit.MICROS.between(INICIO, horizonte)))
+                    .build();
+        });
+    }
+}
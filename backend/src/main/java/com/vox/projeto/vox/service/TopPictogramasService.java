@@ -0,0 +1,162 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.dto.UsoPictogramaDTO;
+import com.vox.projeto.vox.entity.TopPictogramasDia;
+import com.vox.projeto.vox.entity.UsuarioDiaId;
+import com.vox.projeto.vox.exception.BusinessException;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.TopPictogramasDiaRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaResumo;
+import com.vox.projeto.vox.util.SpaceSaving;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pictogramas mais usados em janelas de até 90 dias, por usuário e no
+ * total de usuários, sem varrer o histórico de uso.
+ *
+ * Cada dia tem um resumo Space-Saving de tamanho fixo. Os toques entram
+ * num resumo em memória e são somados periodicamente ao resumo gravado do
+ * dia; a consulta combina os resumos da janela (no máximo 90 por escopo).
+ * As contagens são estimativas por cima, exatas para os itens frequentes.
+ */
+@Service
+@Slf4j
+public class TopPictogramasService {
+
+    public static final long TODOS_USUARIOS = 0L;
+    public static final int JANELA_MAXIMA_DIAS = 90;
+
+    private static final int CAPACIDADE = 200;
+    private static final int LIMITE_MAXIMO = 50;
+
+    private final Map<UsuarioDiaId, SpaceSaving> pendentes = new ConcurrentHashMap<>();
+    private final TopPictogramasDiaRepository topRepository;
+    private final PictogramaRepository pictogramaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TopPictogramasService(TopPictogramasDiaRepository topRepository,
+                                 PictogramaRepository pictogramaRepository,
+                                 TransactionTemplate transactionTemplate) {
+        this.topRepository = topRepository;
+        this.pictogramaRepository = pictogramaRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Sem usuário (toque anônimo) o uso conta apenas no total geral.
+     */
+    public void registrar(Long usuarioId, Long pictogramaId, LocalDate dia) {
+        if (usuarioId != null) {
+            oferecer(new UsuarioDiaId(usuarioId, dia), pictogramaId);
+        }
+        oferecer(new UsuarioDiaId(TODOS_USUARIOS, dia), pictogramaId);
+    }
+
+    /**
+     * Para o total geral só entram pictogramas do sistema: os personalizados
+     * de outros usuários não podem aparecer.
+     */
+    public List<UsoPictogramaDTO> topo(Long usuarioId, int dias, int limite) {
+        if (dias < 1 || dias > JANELA_MAXIMA_DIAS) {
+            throw new BusinessException("A janela deve ter entre 1 e " + JANELA_MAXIMA_DIAS + " dias");
+        }
+
+        long escopo = usuarioId != null ? usuarioId : TODOS_USUARIOS;
+        LocalDate desde = LocalDate.now().minusDays(dias - 1L);
+
+        SpaceSaving janela = new SpaceSaving(CAPACIDADE);
+        for (TopPictogramasDia dia : topRepository.findDesde(escopo, desde)) {
+            janela.combinar(SpaceSaving.desserializar(dia.getResumo(), CAPACIDADE));
+        }
+        for (UsuarioDiaId id : pendentes.keySet()) {
+            if (id.getUsuarioId() == escopo && !id.getDia().isBefore(desde)) {
+                pendentes.computeIfPresent(id, (chave, atual) -> {
+                    janela.combinar(atual);
+                    return atual;
+                });
+            }
+        }
+
+        // Com a capacidade maior que o limite, sobram candidatos após o filtro de acesso
+        List<SpaceSaving.Item> candidatos = janela.topo(CAPACIDADE);
+        if (candidatos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PictogramaResumo> acessiveis = pictogramaRepository
+                .findDisponiveisPorIds(usuarioId, candidatos.stream().map(SpaceSaving.Item::id).toList())
+                .stream()
+                .collect(Collectors.toMap(PictogramaResumo::id, Function.identity()));
+
+        return candidatos.stream()
+                .filter(item -> acessiveis.containsKey(item.id()))
+                .limit(Math.clamp(limite, 1, LIMITE_MAXIMO))
+                .map(item -> new UsoPictogramaDTO(item.id(), acessiveis.get(item.id()).label(), (long) item.contagem()))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${vox.top.persistencia.intervalo:PT1M}")
+    public void persistir() {
+        for (UsuarioDiaId id : pendentes.keySet()) {
+            SpaceSaving delta = pendentes.remove(id);
+            if (delta == null || delta.isVazio()) {
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> somarAoGravado(id, delta));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar resumo de uso {}/{}; nova tentativa no próximo ciclo",
+                        id.getUsuarioId(), id.getDia(), e);
+                pendentes.merge(id, delta, (atual, antigo) -> {
+                    atual.combinar(antigo);
+                    return atual;
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        persistir();
+    }
+
+    @Scheduled(cron = "${vox.top.limpeza.cron:0 0 4 * * *}")
+    public void removerAntigos() {
+        Integer removidos = transactionTemplate.execute(status ->
+                topRepository.removerAnterioresA(LocalDate.now().minusDays(JANELA_MAXIMA_DIAS)));
+        log.info("Removidos {} resumos diários de uso fora da janela", removidos);
+    }
+
+    private void oferecer(UsuarioDiaId id, Long pictogramaId) {
+        pendentes.compute(id, (chave, resumo) -> {
+            SpaceSaving atual = resumo != null ? resumo : new SpaceSaving(CAPACIDADE);
+            atual.oferecer(pictogramaId, 1);
+            return atual;
+        });
+    }
+
+    private void somarAoGravado(UsuarioDiaId id, SpaceSaving delta) {
+        TopPictogramasDia dia = topRepository.findParaAtualizar(id)
+                .orElseGet(() -> TopPictogramasDia.builder().id(id).build());
+
+        SpaceSaving resumo = dia.getResumo() != null
+                ? SpaceSaving.desserializar(dia.getResumo(), CAPACIDADE)
+                : new SpaceSaving(CAPACIDADE);
+        resumo.combinar(delta);
+
+        dia.setResumo(resumo.serializar());
+        topRepository.save(dia);
+    }
+}
@@ -0,0 +1,165 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.dto.EventoUsoDTO;
+import com.vox.projeto.vox.dto.UsoLoteDTO;
+import com.vox.projeto.vox.dto.UsoLoteResultadoDTO;
+import com.vox.projeto.vox.entity.TipoUso;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import com.vox.projeto.vox.event.EntidadeAlterada;
+import com.vox.projeto.vox.exception.ResourceNotFoundException;
+import com.vox.projeto.vox.repository.FraseFavoritaRepository;
+import com.vox.projeto.vox.repository.MensagemRepository;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.UsuarioRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaCategoriaId;
+import com.vox.projeto.vox.util.PontuacaoUso;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Recebe em lote os usos registrados pelo dispositivo (toques em
+ * pictogramas, frases e mensagens reutilizadas). A posse é validada com
+ * uma consulta por tipo e os contadores são aplicados numa única transação.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UsoService {
+
+    private final PictogramaRepository pictogramaRepository;
+    private final FraseFavoritaRepository fraseFavoritaRepository;
+    private final MensagemRepository mensagemRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final ContadorUsoService contadorUsoService;
+    private final RegistroUsoService registroUsoService;
+    private final TopPictogramasService topPictogramasService;
+    private final VocabularioService vocabularioService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Eventos cujo item não existe ou não pertence ao usuário são devolvidos
+     * em "rejeitados" sem invalidar o restante, para o dispositivo não
+     * reenviar o lote inteiro indefinidamente.
+     */
+    public UsoLoteResultadoDTO registrarLote(UsoLoteDTO lote, Long usuarioId) {
+        log.info("Registrando lote de {} usos do usuário: {}", lote.getEventos().size(), usuarioId);
+
+        if (!usuarioRepository.existsById(usuarioId)) {
+            throw new ResourceNotFoundException("Usuário não encontrado");
+        }
+
+        Map<TipoUso, Set<Long>> idsPorTipo = lote.getEventos().stream()
+                .collect(Collectors.groupingBy(EventoUsoDTO::getTipo, () -> new EnumMap<>(TipoUso.class),
+                        Collectors.mapping(EventoUsoDTO::getId, Collectors.toSet())));
+
+        Map<Long, Long> categoriaPorPictograma = new HashMap<>();
+        Map<TipoUso, Set<Long>> permitidos = new EnumMap<>(TipoUso.class);
+        idsPorTipo.forEach((tipo, ids) ->
+                permitidos.put(tipo, new HashSet<>(buscarPermitidos(tipo, usuarioId, ids, categoriaPorPictograma))));
+
+        Map<TipoUso, Map<Long, Integer>> quantidades = new EnumMap<>(TipoUso.class);
+        List<EventoUsoDTO> toques = new ArrayList<>();
+        List<EventoUsoDTO> rejeitados = new ArrayList<>();
+
+        for (EventoUsoDTO evento : lote.getEventos()) {
+            if (!permitidos.get(evento.getTipo()).contains(evento.getId())) {
+                rejeitados.add(evento);
+            } else if (evento.getTipo() == TipoUso.PICTOGRAMA) {
+                toques.add(evento);
+            } else {
+                quantidades.computeIfAbsent(evento.getTipo(), tipo -> new HashMap<>())
+                        .merge(evento.getId(), 1, Integer::sum);
+            }
+        }
+
+        quantidades.forEach((tipo, porId) -> aplicar(tipo, porId, usuarioId));
+
+        if (!toques.isEmpty()) {
+            registrarToquesAposCommit(toques, categoriaPorPictograma, usuarioId, lote.getDispositivo());
+        }
+
+        return UsoLoteResultadoDTO.builder()
+                .aceitos(lote.getEventos().size() - rejeitados.size())
+                .rejeitados(rejeitados)
+                .build();
+    }
+
+    private List<Long> buscarPermitidos(TipoUso tipo, Long usuarioId, Collection<Long> ids,
+                                        Map<Long, Long> categoriaPorPictograma) {
+        return switch (tipo) {
+            case PICTOGRAMA -> {
+                for (PictogramaCategoriaId pictograma : pictogramaRepository.findIdsDisponiveis(usuarioId, ids)) {
+                    categoriaPorPictograma.put(pictograma.id(), pictograma.categoriaId());
+                }
+                yield List.copyOf(categoriaPorPictograma.keySet());
+            }
+            case FRASE_FAVORITA -> fraseFavoritaRepository.findIdsDoUsuario(usuarioId, ids);
+            case MENSAGEM -> mensagemRepository.findIdsDoUsuario(usuarioId, ids);
+        };
+    }
+
+    private void aplicar(TipoUso tipo, Map<Long, Integer> porId, Long usuarioId) {
+        switch (tipo) {
+            case FRASE_FAVORITA -> {
+                Instant agora = Instant.now();
+                incrementarPorQuantidade(porId, (ids, quantidade) ->
+                        fraseFavoritaRepository.incrementarUso(ids, quantidade, PontuacaoUso.expoente(agora, quantidade)));
+                eventPublisher.publishEvent(new AlteracaoDadosEvent(usuarioId, EntidadeAlterada.FRASE_FAVORITA, null));
+            }
+            case MENSAGEM -> incrementarPorQuantidade(porId, mensagemRepository::incrementarReutilizacao);
+        }
+    }
+
+    /**
+     * Os toques só entram no contador e no histórico se o restante do lote
+     * for confirmado. Datas do dispositivo no futuro (relógio adiantado)
+     * são trazidas para o instante atual.
+     */
+    private void registrarToquesAposCommit(List<EventoUsoDTO> toques, Map<Long, Long> categoriaPorPictograma,
+                                           Long usuarioId, String dispositivo) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                LocalDateTime agora = LocalDateTime.now();
+                for (EventoUsoDTO toque : toques) {
+                    LocalDateTime ocorridoEm = toque.getOcorridoEm().isAfter(agora) ? agora : toque.getOcorridoEm();
+                    registroUsoService.registrar(usuarioId, toque.getId(), categoriaPorPictograma.get(toque.getId()),
+                            dispositivo, ocorridoEm);
+                    contadorUsoService.registrar(toque.getId());
+                    topPictogramasService.registrar(usuarioId, toque.getId(), ocorridoEm.toLocalDate());
+                    vocabularioService.registrar(usuarioId, toque.getId(), ocorridoEm.toLocalDate());
+                }
+            }
+        });
+    }
+
+    /**
+     * Um UPDATE por quantidade distinta: num lote típico quase todos os
+     * itens têm o mesmo número de usos, então são poucas instruções.
+     */
+    private void incrementarPorQuantidade(Map<Long, Integer> porId, BiFunction<Collection<Long>, Integer, Integer> incremento) {
+        porId.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((quantidade, ids) -> incremento.apply(ids, quantidade));
+    }
+}
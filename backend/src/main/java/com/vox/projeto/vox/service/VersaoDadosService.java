@@ -0,0 +1,90 @@
+package com.vox.projeto.vox.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vox.projeto.vox.event.AlteracaoDadosEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantém, em memória, a versão dos dados de cada usuário. Toda escrita
+ * confirmada avança a versão; as respostas GET usam-na como ETag.
+ *
+ * As versões saem de um relógio global crescente, então um usuário removido
+ * do cache por tamanho volta com uma versão nova (nunca repete uma ETag já
+ * emitida). O prefixo da instância muda a cada reinício. Com mais de uma
+ * instância, o balanceador deve manter afinidade por usuário.
+ *
+ * Os contadores de uso (vezesUsado e pontuacao, gravados em lote pelo
+ * ContadorUsoService) não avançam a versão: com toques em pictogramas do
+ * sistema a versão de todos mudaria a cada flush e quase nenhum GET
+ * condicional terminaria em 304. As rotas com ETag listam os pictogramas
+ * por ordem, não por uso; o contador que trazem é atualizado na próxima
+ * escrita real do usuário.
+ */
+@Service
+@Slf4j
+public class VersaoDadosService {
+
+    private final String instancia = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong relogio = new AtomicLong();
+    private final Cache<Long, Long> versoes;
+
+    public VersaoDadosService(@Value("${vox.etag.maximo-usuarios:100000}") long maximoUsuarios) {
+        this.versoes = Caffeine.newBuilder()
+                .maximumSize(maximoUsuarios)
+                .build();
+    }
+
+    public long versaoAtual(Long usuarioId) {
+        return versoes.get(usuarioId, id -> relogio.incrementAndGet());
+    }
+
+    public String etag(Long usuarioId) {
+        return "\"" + instancia + "-" + versaoAtual(usuarioId) + "\"";
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarDados(AlteracaoDadosEvent event) {
+        avancar(event.usuarioId());
+    }
+
+    /**
+     * Para escritas feitas fora dos services (gravações em lote por JDBC),
+     * chamado depois que elas foram confirmadas.
+     */
+    public void avancar(Long usuarioId) {
+        log.debug("Avançando versão dos dados do usuário: {}", usuarioId);
+        versoes.put(usuarioId, relogio.incrementAndGet());
+    }
+
+    /**
+     * Avança a versão de todos os usuários, para escritas em dados
+     * compartilhados (categorias e pictogramas do sistema). Descartar as
+     * versões basta: a próxima leitura de cada usuário sai do relógio global,
+     * maior que qualquer ETag já emitida. Dentro de uma transação, só após o commit.
+     */
+    public void avancarTodos() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.debug("Avançando versão dos dados de todos os usuários");
+            versoes.invalidateAll();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                log.debug("Avançando versão dos dados de todos os usuários");
+                versoes.invalidateAll();
+            }
+        });
+    }
+}
@@ -0,0 +1,207 @@
+package com.vox.projeto.vox.service;
+
+import com.vox.projeto.vox.dto.UsoPeriodoDTO;
+import com.vox.projeto.vox.entity.UsuarioDiaId;
+import com.vox.projeto.vox.entity.VocabularioDia;
+import com.vox.projeto.vox.exception.BusinessException;
+import com.vox.projeto.vox.repository.PictogramaRepository;
+import com.vox.projeto.vox.repository.VocabularioDiaRepository;
+import com.vox.projeto.vox.repository.projection.PictogramaCategoriaId;
+import com.vox.projeto.vox.util.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Vocabulário do usuário: quantos pictogramas distintos ele usou em um
+ * período. Cada usuário/dia tem um sketch HyperLogLog; períodos maiores
+ * são a união dos sketches diários, sem COUNT(DISTINCT) sobre o histórico.
+ *
+ * Os usos entram num sketch em memória e são unidos ao sketch gravado
+ * periodicamente, como em {@link TopPictogramasService}. Os sketches diários
+ * são mantidos por vox.vocabulario.retencao.
+ */
+@Service
+@Slf4j
+public class VocabularioService {
+
+    // Mensagens guardam [{"pictogramaId": 1, "label": ..., ...}, ...]
+    private static final Pattern PICTOGRAMA_ID = Pattern.compile("\"pictogramaId\"\\s*:\\s*(\\d+)");
+    private static final int LIMITE_PICTOGRAMAS_MENSAGEM = 100;
+
+    private final Map<UsuarioDiaId, HyperLogLog> pendentes = new ConcurrentHashMap<>();
+    private final VocabularioDiaRepository vocabularioRepository;
+    private final PictogramaRepository pictogramaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Period retencao;
+
+    public VocabularioService(VocabularioDiaRepository vocabularioRepository,
+                              PictogramaRepository pictogramaRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${vox.vocabulario.retencao:P400D}") Period retencao) {
+        this.vocabularioRepository = vocabularioRepository;
+        this.pictogramaRepository = pictogramaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retencao = retencao;
+    }
+
+    public void registrar(Long usuarioId, Long pictogramaId, LocalDate dia) {
+        pendentes.compute(new UsuarioDiaId(usuarioId, dia), (id, sketch) -> {
+            HyperLogLog atual = sketch != null ? sketch : new HyperLogLog();
+            atual.adicionar(pictogramaId);
+            return atual;
+        });
+    }
+
+    /**
+     * Registra os pictogramas de uma mensagem sendo salva. O conteúdo vem do
+     * cliente: só contam ids de pictogramas que o usuário pode usar (como em
+     * {@link UsoService}), e só depois do commit da mensagem.
+     */
+    public void registrarMensagem(Long usuarioId, String conteudoJson, LocalDate dia) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Matcher matcher = PICTOGRAMA_ID.matcher(conteudoJson);
+        while (matcher.find() && ids.size() < LIMITE_PICTOGRAMAS_MENSAGEM) {
+            try {
+                ids.add(Long.parseLong(matcher.group(1)));
+            } catch (NumberFormatException e) {
+                // Número fora do intervalo de long: não é um id válido
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Long> permitidos = pictogramaRepository.findIdsDisponiveis(usuarioId, ids).stream()
+                .map(PictogramaCategoriaId::id)
+                .toList();
+        if (permitidos.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            permitidos.forEach(id -> registrar(usuarioId, id, dia));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                permitidos.forEach(id -> registrar(usuarioId, id, dia));
+            }
+        });
+    }
+
+    /**
+     * Pictogramas distintos usados entre {@code inicio} e {@code fim} (inclusive).
+     */
+    public long distintos(Long usuarioId, LocalDate inicio, LocalDate fim) {
+        return serie(usuarioId, inicio, fim, dia -> inicio).stream()
+                .findFirst()
+                .map(UsoPeriodoDTO::getQuantidade)
+                .orElse(0L);
+    }
+
+    /**
+     * Pictogramas distintos por dia, semana (iniciando na segunda) ou mês.
+     */
+    public List<UsoPeriodoDTO> distintosPorPeriodo(Long usuarioId, LocalDate inicio, LocalDate fim, String periodo) {
+        UnaryOperator<LocalDate> inicioDoPeriodo = switch (periodo.toUpperCase()) {
+            case "DIA" -> UnaryOperator.identity();
+            case "SEMANA" -> dia -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "MES" -> dia -> dia.withDayOfMonth(1);
+            default -> throw new BusinessException("Período deve ser DIA, SEMANA ou MES");
+        };
+        return serie(usuarioId, inicio, fim, inicioDoPeriodo);
+    }
+
+    @Scheduled(fixedDelayString = "${vox.vocabulario.persistencia.intervalo:PT1M}")
+    public void persistir() {
+        for (UsuarioDiaId id : pendentes.keySet()) {
+            HyperLogLog delta = pendentes.remove(id);
+            if (delta == null) {
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> unirAoGravado(id, delta));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar vocabulário {}/{}; nova tentativa no próximo ciclo",
+                        id.getUsuarioId(), id.getDia(), e);
+                pendentes.merge(id, delta, (atual, antigo) -> {
+                    atual.unir(antigo);
+                    return atual;
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        persistir();
+    }
+
+    @Scheduled(cron = "${vox.vocabulario.limpeza.cron:0 10 4 * * *}")
+    public void removerAntigos() {
+        Integer removidos = transactionTemplate.execute(status ->
+                vocabularioRepository.removerAnterioresA(LocalDate.now().minus(retencao)));
+        log.info("Removidos {} sketches diários de vocabulário fora da retenção", removidos);
+    }
+
+    private List<UsoPeriodoDTO> serie(Long usuarioId, LocalDate inicio, LocalDate fim, UnaryOperator<LocalDate> inicioDoPeriodo) {
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("Data inicial deve ser anterior à final");
+        }
+
+        Map<LocalDate, HyperLogLog> periodos = new TreeMap<>();
+        for (VocabularioDia dia : vocabularioRepository.findNoPeriodo(usuarioId, inicio, fim)) {
+            periodos.computeIfAbsent(inicioDoPeriodo.apply(dia.getId().getDia()), p -> new HyperLogLog())
+                    .unir(HyperLogLog.desserializar(dia.getSketch()));
+        }
+
+        for (UsuarioDiaId id : pendentes.keySet()) {
+            LocalDate dia = id.getDia();
+            if (id.getUsuarioId().equals(usuarioId) && !dia.isBefore(inicio) && !dia.isAfter(fim)) {
+                HyperLogLog doPeriodo = periodos.computeIfAbsent(inicioDoPeriodo.apply(dia), p -> new HyperLogLog());
+                pendentes.computeIfPresent(id, (chave, atual) -> {
+                    doPeriodo.unir(atual);
+                    return atual;
+                });
+            }
+        }
+
+        return periodos.entrySet().stream()
+                .map(periodo -> new UsoPeriodoDTO(periodo.getKey().atStartOfDay(), periodo.getValue().estimar()))
+                .toList();
+    }
+
+    private void unirAoGravado(UsuarioDiaId id, HyperLogLog delta) {
+        VocabularioDia dia = vocabularioRepository.findParaAtualizar(id)
+                .orElseGet(() -> VocabularioDia.builder().id(id).build());
+
+        HyperLogLog sketch = dia.getSketch() != null ? HyperLogLog.desserializar(dia.getSketch()) : new HyperLogLog();
+        sketch.unir(delta);
+
+        dia.setSketch(sketch.serializar());
+        vocabularioRepository.save(dia);
+    }
+}
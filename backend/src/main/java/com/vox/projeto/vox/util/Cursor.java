@@ -0,0 +1,39 @@
+package com.vox.projeto.vox.util;
+
+import com.vox.projeto.vox.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginação por keyset: guarda os valores da última
+ * linha retornada como texto Base64 (URL-safe).
+ */
+public final class Cursor {
+
+    private static final String SEPARADOR = ":";
+
+    private Cursor() {
+    }
+
+    public static String codificar(long... valores) {
+        String texto = String.join(SEPARADOR, Arrays.stream(valores).mapToObj(Long::toString).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long[] decodificar(String cursor, int quantidadeValores) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split(SEPARADOR);
+
+            if (partes.length != quantidadeValores) {
+                throw new BusinessException("Cursor inválido");
+            }
+
+            return Arrays.stream(partes).mapToLong(Long::parseLong).toArray();
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor inválido", e);
+        }
+    }
+}
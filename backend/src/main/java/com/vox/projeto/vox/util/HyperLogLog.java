@@ -0,0 +1,109 @@
+package com.vox.projeto.vox.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sketch HyperLogLog para contar itens distintos com memória fixa
+ * (2^10 registradores, erro padrão de ~3%). A união de dois sketches é o
+ * máximo registrador a registrador, então períodos longos se obtêm
+ * unindo os sketches diários. Cardinalidades pequenas usam contagem
+ * linear e ficam praticamente exatas. Não é thread-safe.
+ *
+ * Serializado em formato esparso (índice + valor dos registradores não
+ * nulos) enquanto isso for menor que o formato denso de 1 byte por registrador.
+ */
+public final class HyperLogLog {
+
+    private static final int PRECISAO = 10;
+    private static final int REGISTRADORES = 1 << PRECISAO;
+    private static final double ALFA = 0.7213 / (1 + 1.079 / REGISTRADORES);
+
+    private static final byte FORMATO_DENSO = 0;
+    private static final byte FORMATO_ESPARSO = 1;
+    private static final int BYTES_POR_REGISTRADOR_ESPARSO = 3;
+
+    private final byte[] registradores = new byte[REGISTRADORES];
+
+    public void adicionar(long valor) {
+        long hash = misturar(valor);
+        int indice = (int) (hash >>> (Long.SIZE - PRECISAO));
+        // O bit sentinela limita a posição ao tamanho do restante do hash
+        long restante = (hash << PRECISAO) | (1L << (PRECISAO - 1));
+        byte posicao = (byte) (Long.numberOfLeadingZeros(restante) + 1);
+
+        if (posicao > registradores[indice]) {
+            registradores[indice] = posicao;
+        }
+    }
+
+    public void unir(HyperLogLog outro) {
+        for (int i = 0; i < REGISTRADORES; i++) {
+            if (outro.registradores[i] > registradores[i]) {
+                registradores[i] = outro.registradores[i];
+            }
+        }
+    }
+
+    public long estimar() {
+        double soma = 0;
+        int zerados = 0;
+        for (byte registrador : registradores) {
+            soma += 1.0 / (1L << registrador);
+            if (registrador == 0) {
+                zerados++;
+            }
+        }
+
+        double estimativa = ALFA * REGISTRADORES * REGISTRADORES / soma;
+        if (estimativa <= 2.5 * REGISTRADORES && zerados > 0) {
+            estimativa = REGISTRADORES * Math.log((double) REGISTRADORES / zerados);
+        }
+        return Math.round(estimativa);
+    }
+
+    public byte[] serializar() {
+        int naoNulos = 0;
+        for (byte registrador : registradores) {
+            if (registrador != 0) {
+                naoNulos++;
+            }
+        }
+
+        if (naoNulos * BYTES_POR_REGISTRADOR_ESPARSO >= REGISTRADORES) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + REGISTRADORES);
+            return buffer.put(FORMATO_DENSO).put(registradores).array();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + naoNulos * BYTES_POR_REGISTRADOR_ESPARSO).put(FORMATO_ESPARSO);
+        for (int i = 0; i < REGISTRADORES; i++) {
+            if (registradores[i] != 0) {
+                buffer.putShort((short) i).put(registradores[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static HyperLogLog desserializar(byte[] dados) {
+        HyperLogLog sketch = new HyperLogLog();
+        ByteBuffer buffer = ByteBuffer.wrap(dados);
+
+        if (buffer.get() == FORMATO_DENSO) {
+            buffer.get(sketch.registradores);
+        } else {
+            while (buffer.remaining() >= BYTES_POR_REGISTRADOR_ESPARSO) {
+                sketch.registradores[buffer.getShort()] = buffer.get();
+            }
+        }
+        return sketch;
+    }
+
+    // Finalizador do MurmurHash3: ids sequenciais viram hashes bem distribuídos
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+}
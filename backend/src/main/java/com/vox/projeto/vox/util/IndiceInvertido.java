@@ -0,0 +1,258 @@
+package com.vox.projeto.vox.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido sobre um rótulo e seus sinônimos, com o texto
+ * normalizado por {@link TextoBusca}.
+ *
+ * Cada token entra em duas listas de postagens: a de termos (ordenada,
+ * para busca por prefixo de consultas curtas) e a de trigramas (para
+ * "contém" em consultas de 3+ letras). As postagens só reduzem os
+ * candidatos; cada candidato é conferido no próprio texto antes de entrar
+ * no resultado. Os termos também alimentam um dicionário {@link SymSpell}
+ * para a busca tolerante a erros de digitação. Não é thread-safe.
+ */
+public final class IndiceInvertido<T> {
+
+    private static final int TAMANHO_NGRAMA = 3;
+    private static final int DISTANCIA_MAXIMA = 2;
+    private static final int PREFIXO_SYMSPELL = 7;
+
+    /**
+     * Qualidade da correspondência, da melhor para a pior: 5 = rótulo igual
+     * à consulta, 4 = rótulo começa com a consulta, 3 = todos os termos são
+     * início de palavras do rótulo, 2 = todos os termos estão no rótulo,
+     * 1 = precisou dos sinônimos.
+     */
+    public record Resultado<T>(long id, int qualidade, T valor) {
+    }
+
+    /**
+     * Resultado da busca aproximada: {@code distancia} é a soma, por termo da
+     * consulta, das edições até a palavra mais próxima do documento.
+     */
+    public record Aproximado<T>(long id, int distancia, T valor) {
+    }
+
+    private record Documento<T>(String label, List<String> tokensLabel, List<String> tokensAlternativo, T valor) {
+    }
+
+    private final Map<Long, Documento<T>> documentos = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> termos = new TreeMap<>();
+    private final Map<String, Set<Long>> ngramas = new HashMap<>();
+    private final SymSpell dicionario = new SymSpell(DISTANCIA_MAXIMA, PREFIXO_SYMSPELL);
+
+    public void adicionar(long id, String label, String alternativo, T valor) {
+        remover(id);
+
+        Documento<T> documento = new Documento<>(
+                TextoBusca.normalizar(label),
+                TextoBusca.tokens(label),
+                TextoBusca.tokens(alternativo),
+                valor);
+        documentos.put(id, documento);
+
+        for (String token : tokensDe(documento)) {
+            termos.computeIfAbsent(token, chave -> {
+                dicionario.adicionar(chave);
+                return new HashSet<>();
+            }).add(id);
+            for (String ngrama : TextoBusca.ngramas(token, TAMANHO_NGRAMA)) {
+                ngramas.computeIfAbsent(ngrama, chave -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    public void remover(long id) {
+        Documento<T> documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+
+        for (String token : tokensDe(documento)) {
+            if (removerPostagem(termos, token, id)) {
+                dicionario.remover(token);
+            }
+            for (String ngrama : TextoBusca.ngramas(token, TAMANHO_NGRAMA)) {
+                removerPostagem(ngramas, ngrama, id);
+            }
+        }
+    }
+
+    public T valor(long id) {
+        Documento<T> documento = documentos.get(id);
+        return documento != null ? documento.valor() : null;
+    }
+
+    public Collection<T> valores() {
+        return documentos.values().stream().map(Documento::valor).toList();
+    }
+
+    public int tamanho() {
+        return documentos.size();
+    }
+
+    /**
+     * Documentos em que cada termo da consulta aparece no rótulo ou nos
+     * sinônimos: como início de palavra para termos de 1-2 letras, em
+     * qualquer posição para os demais. Sem ordem definida.
+     */
+    public List<Resultado<T>> buscar(String consulta) {
+        List<String> tokensConsulta = TextoBusca.tokens(consulta);
+        if (tokensConsulta.isEmpty()) {
+            return List.of();
+        }
+
+        // O termo mais longo costuma ter menos candidatos: começa por ele
+        Set<Long> candidatos = null;
+        for (String token : tokensConsulta.stream().sorted(Comparator.comparingInt(String::length).reversed()).toList()) {
+            Set<Long> doToken = candidatos(token);
+            if (candidatos == null) {
+                candidatos = new HashSet<>(doToken);
+            } else {
+                candidatos.retainAll(doToken);
+            }
+            if (candidatos.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String consultaNormalizada = String.join(" ", tokensConsulta);
+        List<Resultado<T>> resultados = new ArrayList<>(candidatos.size());
+
+        for (Long id : candidatos) {
+            Documento<T> documento = documentos.get(id);
+            boolean corresponde = tokensConsulta.stream().allMatch(token ->
+                    corresponde(token, documento.tokensLabel()) || corresponde(token, documento.tokensAlternativo()));
+            if (corresponde) {
+                resultados.add(new Resultado<>(id, qualidade(documento, consultaNormalizada, tokensConsulta), documento.valor()));
+            }
+        }
+
+        return resultados;
+    }
+
+    /**
+     * Documentos com, para cada termo da consulta, alguma palavra a poucas
+     * edições dele: nenhuma para termos de até 2 letras, 1 até 4 letras e
+     * 2 acima disso. Sem ordem definida.
+     */
+    public List<Aproximado<T>> buscarAproximado(String consulta) {
+        List<String> tokensConsulta = TextoBusca.tokens(consulta);
+        if (tokensConsulta.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> distancias = null;
+        for (String token : tokensConsulta) {
+            Map<Long, Integer> doToken = new HashMap<>();
+            for (SymSpell.Sugestao sugestao : dicionario.sugerir(token, distanciaPermitida(token))) {
+                for (Long id : termos.get(sugestao.termo())) {
+                    doToken.merge(id, sugestao.distancia(), Math::min);
+                }
+            }
+
+            if (distancias == null) {
+                distancias = doToken;
+            } else {
+                distancias.keySet().retainAll(doToken.keySet());
+                distancias.replaceAll((id, distancia) -> distancia + doToken.get(id));
+            }
+            if (distancias.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Aproximado<T>> resultados = new ArrayList<>(distancias.size());
+        distancias.forEach((id, distancia) -> resultados.add(new Aproximado<>(id, distancia, documentos.get(id).valor())));
+        return resultados;
+    }
+
+    private static int distanciaPermitida(String token) {
+        if (token.length() <= 2) {
+            return 0;
+        }
+        return token.length() <= 4 ? 1 : DISTANCIA_MAXIMA;
+    }
+
+    private Set<Long> candidatos(String token) {
+        if (token.length() < TAMANHO_NGRAMA) {
+            Set<Long> ids = new HashSet<>();
+            termos.subMap(token, true, token + Character.MAX_VALUE, false).values().forEach(ids::addAll);
+            return ids;
+        }
+
+        Set<Long> ids = null;
+        for (String ngrama : TextoBusca.ngramas(token, TAMANHO_NGRAMA)) {
+            Set<Long> postagens = ngramas.get(ngrama);
+            if (postagens == null) {
+                return Set.of();
+            }
+            if (ids == null) {
+                ids = new HashSet<>(postagens);
+            } else {
+                ids.retainAll(postagens);
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private static boolean corresponde(String tokenConsulta, List<String> tokensDocumento) {
+        for (String token : tokensDocumento) {
+            boolean encontrado = tokenConsulta.length() < TAMANHO_NGRAMA
+                    ? token.startsWith(tokenConsulta)
+                    : token.contains(tokenConsulta);
+            if (encontrado) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int qualidade(Documento<?> documento, String consulta, List<String> tokensConsulta) {
+        if (documento.label().equals(consulta)) {
+            return 5;
+        }
+        if (documento.label().startsWith(consulta)) {
+            return 4;
+        }
+        if (!tokensConsulta.stream().allMatch(token -> corresponde(token, documento.tokensLabel()))) {
+            return 1;
+        }
+
+        boolean inicioDePalavra = tokensConsulta.stream().allMatch(token ->
+                documento.tokensLabel().stream().anyMatch(palavra -> palavra.startsWith(token)));
+        return inicioDePalavra ? 3 : 2;
+    }
+
+    private static Set<String> tokensDe(Documento<?> documento) {
+        Set<String> tokens = new HashSet<>(documento.tokensLabel());
+        tokens.addAll(documento.tokensAlternativo());
+        return tokens;
+    }
+
+    /**
+     * @return true se era a última postagem da chave
+     */
+    private static boolean removerPostagem(Map<String, Set<Long>> postagens, String chave, long id) {
+        Set<Long> ids = postagens.get(chave);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            postagens.remove(chave);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package com.vox.projeto.vox.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência ajustado pela latência observada (estilo Gradient).
+ *
+ * Compara a latência recente (média móvel curta) com a de referência
+ * (média longa): enquanto a recente fica dentro da tolerância o limite
+ * cresce; quando o banco desacelera e as requisições começam a enfileirar,
+ * o gradiente cai abaixo de 1 e o limite encolhe na mesma proporção.
+ *
+ * Adquirir é lock-free; o ajuste do limite é serializado, mas só faz
+ * algumas contas por amostra.
+ */
+public final class LimiteAdaptativo {
+
+    private static final double GRADIENTE_MINIMO = 0.5;
+    private static final double SUAVIZACAO = 0.2;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final double alfaCurto;
+    private final double alfaLongo;
+    private final AtomicInteger emVoo = new AtomicInteger();
+
+    private volatile int limite;
+    private double limiteExato;
+    private double rttCurto;
+    private double rttLongo;
+
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, double tolerancia) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.alfaCurto = 2.0 / (10 + 1);
+        this.alfaLongo = 2.0 / (600 + 1);
+        this.limite = Math.clamp(inicial, minimo, maximo);
+        this.limiteExato = limite;
+    }
+
+    public boolean adquirir() {
+        while (true) {
+            int atual = emVoo.get();
+            if (atual >= limite) {
+                return false;
+            }
+            if (emVoo.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga e alimenta o ajuste com a latência da requisição.
+     */
+    public void liberar(long rttNanos) {
+        int emVooAntes = emVoo.getAndDecrement();
+        ajustar(rttNanos, emVooAntes);
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getEmVoo() {
+        return emVoo.get();
+    }
+
+    private synchronized void ajustar(long rttNanos, int emVooAntes) {
+        if (rttCurto == 0) {
+            rttCurto = rttNanos;
+            rttLongo = rttNanos;
+            return;
+        }
+
+        rttCurto += alfaCurto * (rttNanos - rttCurto);
+        rttLongo += alfaLongo * (rttNanos - rttLongo);
+
+        // Depois de uma degradação longa a referência fica alta demais; puxa para a recente
+        if (rttLongo > 2 * rttCurto) {
+            rttLongo *= 0.95;
+        }
+
+        // Com pouca carga a latência não diz nada sobre a capacidade: não cresce à toa
+        if (emVooAntes < limiteExato / 2) {
+            return;
+        }
+
+        double gradiente = Math.clamp(tolerancia * rttLongo / rttCurto, GRADIENTE_MINIMO, 1.0);
+        double fila = Math.sqrt(limiteExato);
+        double novo = limiteExato * gradiente + fila;
+
+        limiteExato = Math.clamp(limiteExato * (1 - SUAVIZACAO) + novo * SUAVIZACAO, minimo, maximo);
+        limite = (int) limiteExato;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vox.projeto.vox.util;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Pontuação de uso com decaimento exponencial ("forward decay").
+ *
+ * Cada uso vale 2^(-idade / MEIA_VIDA). Em vez de envelhecer as linhas
+ * gravadas, a pontuação guarda ln(Σ e^(λ·(t - ORIGEM))): um uso novo vale
+ * mais que um antigo na mesma escala, então a ordem entre linhas nunca
+ * muda sem um uso novo e ORDER BY pontuacao DESC pode vir de um índice.
+ *
+ * A meia-vida define a escala dos valores gravados; alterá-la exige
+ * recalcular a coluna.
+ */
+public final class PontuacaoUso {
+
+    public static final Duration MEIA_VIDA = Duration.ofDays(14);
+
+    private static final Instant ORIGEM = Instant.parse("2025-01-01T00:00:00Z");
+    private static final double LAMBDA = Math.log(2) / MEIA_VIDA.toSeconds();
+
+    private PontuacaoUso() {
+    }
+
+    /**
+     * Logaritmo do peso de {@code quantidade} usos feitos em {@code instante}.
+     */
+    public static double expoente(Instant instante, long quantidade) {
+        return LAMBDA * Duration.between(ORIGEM, instante).toSeconds() + Math.log(quantidade);
+    }
+
+    /**
+     * ln(e^atual + e^expoente), sem overflow.
+     */
+    public static double somar(double atual, double expoente) {
+        return Math.max(atual, expoente) + Math.log1p(Math.exp(-Math.abs(atual - expoente)));
+    }
+}
@@ -0,0 +1,130 @@
+package com.vox.projeto.vox.util;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo Space-Saving para os itens mais frequentes de um fluxo, com
+ * memória limitada a {@code capacidade} contadores.
+ *
+ * A contagem de cada item é uma estimativa por cima: o valor real fica
+ * entre {@code contagem - erro} e {@code contagem}. Itens com frequência
+ * acima de total/capacidade nunca são perdidos. Não é thread-safe.
+ */
+public final class SpaceSaving {
+
+    // id (8 bytes) + contagem (4) + erro (4)
+    private static final int BYTES_POR_ITEM = 16;
+
+    private final int capacidade;
+    private final Map<Long, int[]> contadores;
+
+    public SpaceSaving(int capacidade) {
+        this.capacidade = capacidade;
+        this.contadores = new HashMap<>(capacidade * 2);
+    }
+
+    public record Item(long id, int contagem, int erro) {
+    }
+
+    public void oferecer(long id, int quantidade) {
+        int[] contador = contadores.get(id);
+        if (contador != null) {
+            contador[0] += quantidade;
+            return;
+        }
+
+        if (contadores.size() < capacidade) {
+            contadores.put(id, new int[]{quantidade, 0});
+            return;
+        }
+
+        // Varredura linear: só acontece com o resumo cheio e item novo, e a capacidade é pequena
+        Map.Entry<Long, int[]> menor = contadores.entrySet().stream()
+                .min(Comparator.comparingInt(entrada -> entrada.getValue()[0]))
+                .orElseThrow();
+        int minimo = menor.getValue()[0];
+        contadores.remove(menor.getKey());
+        contadores.put(id, new int[]{minimo + quantidade, minimo});
+    }
+
+    /**
+     * Soma outro resumo a este (merge de resumos mergeable, Agarwal et al.).
+     * Um resumo cheio pode ter omitido até o seu menor contador de qualquer
+     * item ausente, então esse mínimo entra na contagem e no erro dos itens
+     * que só aparecem do outro lado. Depois ficam os {@code capacidade}
+     * maiores: os descartados não passam do menor mantido, que volta como
+     * erro se o item reaparecer, e as contagens continuam limites por cima.
+     */
+    public void combinar(SpaceSaving outro) {
+        int minimoDeste = minimo();
+        int minimoOutro = outro.minimo();
+
+        contadores.forEach((id, contador) -> {
+            if (!outro.contadores.containsKey(id)) {
+                contador[0] += minimoOutro;
+                contador[1] += minimoOutro;
+            }
+        });
+        outro.contadores.forEach((id, contador) -> {
+            int[] atual = contadores.get(id);
+            if (atual != null) {
+                atual[0] += contador[0];
+                atual[1] += contador[1];
+            } else {
+                contadores.put(id, new int[]{contador[0] + minimoDeste, contador[1] + minimoDeste});
+            }
+        });
+
+        if (contadores.size() > capacidade) {
+            List<Long> descartados = contadores.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<Long, int[]>>comparingInt(entrada -> entrada.getValue()[0])
+                            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()))
+                    .limit(contadores.size() - capacidade)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            descartados.forEach(contadores::remove);
+        }
+    }
+
+    /**
+     * Maior quantidade que um item ausente pode ter: zero enquanto o resumo
+     * não encheu (nada foi descartado), senão o menor contador.
+     */
+    private int minimo() {
+        if (contadores.size() < capacidade) {
+            return 0;
+        }
+        return contadores.values().stream().mapToInt(contador -> contador[0]).min().orElse(0);
+    }
+
+    public List<Item> topo(int limite) {
+        return contadores.entrySet().stream()
+                .map(entrada -> new Item(entrada.getKey(), entrada.getValue()[0], entrada.getValue()[1]))
+                .sorted(Comparator.comparingInt(Item::contagem).reversed().thenComparingLong(Item::id))
+                .limit(limite)
+                .toList();
+    }
+
+    public boolean isVazio() {
+        return contadores.isEmpty();
+    }
+
+    public byte[] serializar() {
+        ByteBuffer buffer = ByteBuffer.allocate(contadores.size() * BYTES_POR_ITEM);
+        contadores.forEach((id, contador) -> buffer.putLong(id).putInt(contador[0]).putInt(contador[1]));
+        return buffer.array();
+    }
+
+    public static SpaceSaving desserializar(byte[] dados, int capacidade) {
+        SpaceSaving resumo = new SpaceSaving(capacidade);
+        ByteBuffer buffer = ByteBuffer.wrap(dados);
+        while (buffer.remaining() >= BYTES_POR_ITEM) {
+            resumo.contadores.put(buffer.getLong(), new int[]{buffer.getInt(), buffer.getInt()});
+        }
+        return resumo;
+    }
+}
@@ -0,0 +1,162 @@
+package com.vox.projeto.vox.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dicionário de correção ortográfica por deleção simétrica (SymSpell).
+ *
+ * Na inclusão de cada termo são pré-calculadas as variantes com até
+ * {@code distanciaMaxima} letras apagadas; na consulta, as variantes da
+ * palavra digitada são procuradas nesse mapa. Dois textos a distância d
+ * sempre têm uma variante em comum, então os candidatos saem de poucas
+ * buscas em hash, sem percorrer o vocabulário. Os candidatos são conferidos
+ * com a distância de Damerau-Levenshtein (transposição conta como 1).
+ *
+ * Só os primeiros {@code tamanhoPrefixo} caracteres geram variantes, o que
+ * limita a memória sem perder candidatos: o resto é conferido na distância
+ * completa. Não é thread-safe.
+ */
+public final class SymSpell {
+
+    public record Sugestao(String termo, int distancia) {
+    }
+
+    private final int distanciaMaxima;
+    private final int tamanhoPrefixo;
+    private final Set<String> termos = new HashSet<>();
+    private final Map<String, Set<String>> delecoes = new HashMap<>();
+
+    public SymSpell(int distanciaMaxima, int tamanhoPrefixo) {
+        this.distanciaMaxima = distanciaMaxima;
+        this.tamanhoPrefixo = tamanhoPrefixo;
+    }
+
+    public void adicionar(String termo) {
+        if (!termos.add(termo)) {
+            return;
+        }
+        for (String variante : variantes(prefixo(termo), distanciaMaxima)) {
+            delecoes.computeIfAbsent(variante, chave -> new HashSet<>()).add(termo);
+        }
+    }
+
+    public void remover(String termo) {
+        if (!termos.remove(termo)) {
+            return;
+        }
+        for (String variante : variantes(prefixo(termo), distanciaMaxima)) {
+            Set<String> comVariante = delecoes.get(variante);
+            if (comVariante != null && comVariante.remove(termo) && comVariante.isEmpty()) {
+                delecoes.remove(variante);
+            }
+        }
+    }
+
+    /**
+     * Termos do dicionário a no máximo {@code distancia} edições da palavra
+     * (limitado à distância máxima do dicionário), do mais próximo para o
+     * mais distante.
+     */
+    public List<Sugestao> sugerir(String palavra, int distancia) {
+        int maxima = Math.min(distancia, distanciaMaxima);
+
+        Set<String> candidatos = new HashSet<>();
+        for (String variante : variantes(prefixo(palavra), maxima)) {
+            Set<String> comVariante = delecoes.get(variante);
+            if (comVariante != null) {
+                candidatos.addAll(comVariante);
+            }
+        }
+
+        List<Sugestao> sugestoes = new ArrayList<>();
+        for (String candidato : candidatos) {
+            if (Math.abs(candidato.length() - palavra.length()) > maxima) {
+                continue;
+            }
+            int encontrada = distancia(palavra, candidato, maxima);
+            if (encontrada <= maxima) {
+                sugestoes.add(new Sugestao(candidato, encontrada));
+            }
+        }
+
+        sugestoes.sort(Comparator.comparingInt(Sugestao::distancia).thenComparing(Sugestao::termo));
+        return sugestoes;
+    }
+
+    public int tamanho() {
+        return termos.size();
+    }
+
+    private String prefixo(String termo) {
+        return termo.length() > tamanhoPrefixo ? termo.substring(0, tamanhoPrefixo) : termo;
+    }
+
+    /**
+     * O próprio texto e todas as variantes com 1..{@code maximo} letras apagadas.
+     */
+    private static Set<String> variantes(String texto, int maximo) {
+        Set<String> variantes = new HashSet<>();
+        variantes.add(texto);
+
+        List<String> nivel = List.of(texto);
+        for (int apagadas = 1; apagadas <= maximo; apagadas++) {
+            List<String> proximo = new ArrayList<>();
+            for (String atual : nivel) {
+                for (int i = 0; i < atual.length(); i++) {
+                    String variante = atual.substring(0, i) + atual.substring(i + 1);
+                    if (variantes.add(variante)) {
+                        proximo.add(variante);
+                    }
+                }
+            }
+            nivel = proximo;
+        }
+        return variantes;
+    }
+
+    /**
+     * Damerau-Levenshtein (optimal string alignment) com corte: devolve
+     * {@code maximo + 1} assim que a distância certamente passa do máximo.
+     */
+    static int distancia(String a, String b, int maximo) {
+        int[] anterior2 = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + custo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                atual[j] = valor;
+                menorDaLinha = Math.min(menorDaLinha, valor);
+            }
+
+            if (menorDaLinha > maximo) {
+                return maximo + 1;
+            }
+
+            int[] reciclado = anterior2;
+            anterior2 = anterior;
+            anterior = atual;
+            atual = reciclado;
+        }
+
+        return Math.min(anterior[b.length()], maximo + 1);
+    }
+}
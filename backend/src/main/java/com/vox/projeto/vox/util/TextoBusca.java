@@ -0,0 +1,47 @@
+package com.vox.projeto.vox.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto para busca: minúsculas, sem acentos e com qualquer
+ * pontuação virando espaço ("Água-de-coco" → "agua de coco").
+ */
+public final class TextoBusca {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private TextoBusca() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return "";
+        }
+
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokens(String texto) {
+        String normalizado = normalizar(texto);
+        return normalizado.isEmpty() ? List.of() : Arrays.asList(normalizado.split(" "));
+    }
+
+    /**
+     * Substrings de tamanho {@code n} do token; vazio se o token for menor.
+     */
+    public static Set<String> ngramas(String token, int n) {
+        Set<String> ngramas = new LinkedHashSet<>();
+        for (int i = 0; i + n <= token.length(); i++) {
+            ngramas.add(token.substring(i, i + n));
+        }
+        return ngramas;
+    }
+}
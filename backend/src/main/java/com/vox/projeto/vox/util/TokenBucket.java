@@ -0,0 +1,50 @@
+package com.vox.projeto.vox.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock, no formato GCRA: em vez de guardar a quantidade
+ * de fichas, guarda o instante teórico em que o balde estaria cheio de
+ * novo. Cada consumo é um único compareAndSet sobre esse instante.
+ *
+ * Equivale a um balde de {@code capacidade} fichas reabastecido a
+ * {@code porSegundo} fichas por segundo.
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+    private final long intervalo;
+    private final long tolerancia;
+    private final AtomicLong cheioEm;
+
+    public TokenBucket(int capacidade, double porSegundo, long agoraNanos) {
+        if (capacidade < 1 || porSegundo <= 0) {
+            throw new IllegalArgumentException("Capacidade e taxa devem ser positivas");
+        }
+        this.intervalo = Math.max(1L, (long) (NANOS_POR_SEGUNDO / porSegundo));
+        this.tolerancia = intervalo * capacidade;
+        this.cheioEm = new AtomicLong(agoraNanos);
+    }
+
+    /**
+     * Tenta consumir uma ficha.
+     *
+     * @return 0 se a ficha foi consumida; senão, quantos nanossegundos faltam
+     *         para a próxima ficha ficar disponível
+     */
+    public long consumir(long agoraNanos) {
+        while (true) {
+            long atual = cheioEm.get();
+            long base = Math.max(atual, agoraNanos);
+            long proximo = base + intervalo;
+
+            if (proximo - agoraNanos > tolerancia) {
+                return proximo - tolerancia - agoraNanos;
+            }
+            if (cheioEm.compareAndSet(atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+}
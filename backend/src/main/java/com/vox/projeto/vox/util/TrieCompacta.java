@@ -0,0 +1,152 @@
+package com.vox.projeto.vox.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Árvore de prefixos compacta (radix) e imutável para autocompletar.
+ *
+ * Cada arco guarda um trecho de texto em vez de um caractere, e cada nó
+ * guarda os {@code k} valores de maior peso abaixo dele, calculados na
+ * construção. Completar um prefixo é só descer a árvore: o custo depende
+ * do tamanho do prefixo, não da quantidade de chaves.
+ *
+ * Um mesmo valor pode entrar com várias chaves (ex.: cada palavra do
+ * rótulo); no resultado ele aparece uma vez só.
+ */
+public final class TrieCompacta<T> {
+
+    public record Entrada<T>(String chave, T valor, long peso) {
+    }
+
+    private static final Comparator<Entrada<?>> MAIOR_PESO =
+            Comparator.<Entrada<?>>comparingLong(Entrada::peso).reversed()
+                    .thenComparing(Entrada::chave);
+
+    private record No<T>(String rotulo, char[] iniciais, List<No<T>> filhos, List<Entrada<T>> melhores) {
+
+        No<T> filho(char inicial) {
+            // Poucos filhos por nó: busca linear nos iniciais ordenados
+            for (int i = 0; i < iniciais.length && iniciais[i] <= inicial; i++) {
+                if (iniciais[i] == inicial) {
+                    return filhos.get(i);
+                }
+            }
+            return null;
+        }
+    }
+
+    private final No<T> raiz;
+    private final int tamanho;
+
+    private TrieCompacta(No<T> raiz, int tamanho) {
+        this.raiz = raiz;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * @param k quantos melhores valores cada nó guarda (limite máximo de
+     *          {@link #completar})
+     */
+    public static <T> TrieCompacta<T> construir(List<Entrada<T>> entradas, int k) {
+        List<Entrada<T>> ordenadas = entradas.stream()
+                .filter(entrada -> !entrada.chave().isEmpty())
+                .sorted(Comparator.comparing(Entrada::chave))
+                .toList();
+        return new TrieCompacta<>(construirNo(ordenadas, 0, ordenadas.size(), 0, "", k), ordenadas.size());
+    }
+
+    public static <T> TrieCompacta<T> vazia() {
+        return new TrieCompacta<>(new No<>("", new char[0], List.of(), List.of()), 0);
+    }
+
+    /**
+     * Os valores de maior peso com alguma chave começando pelo prefixo,
+     * com o peso e a chave que os trouxeram.
+     */
+    public List<Entrada<T>> completar(String prefixo, int limite) {
+        No<T> no = raiz;
+        int posicao = 0;
+
+        while (posicao < prefixo.length()) {
+            No<T> filho = no.filho(prefixo.charAt(posicao));
+            if (filho == null) {
+                return List.of();
+            }
+
+            // O prefixo pode terminar no meio do arco: o nó do fim do arco vale
+            int comparar = Math.min(filho.rotulo().length(), prefixo.length() - posicao);
+            if (!prefixo.regionMatches(posicao, filho.rotulo(), 0, comparar)) {
+                return List.of();
+            }
+
+            posicao += comparar;
+            no = filho;
+        }
+
+        List<Entrada<T>> melhores = no.melhores();
+        return melhores.size() > limite ? melhores.subList(0, limite) : melhores;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    private static <T> No<T> construirNo(List<Entrada<T>> ordenadas, int inicio, int fim,
+                                         int profundidade, String rotulo, int k) {
+        List<Entrada<T>> candidatos = new ArrayList<>();
+
+        // Em ordem alfabética a chave que termina aqui vem antes das mais longas
+        int atual = inicio;
+        while (atual < fim && ordenadas.get(atual).chave().length() == profundidade) {
+            candidatos.add(ordenadas.get(atual));
+            atual++;
+        }
+
+        List<No<T>> filhos = new ArrayList<>();
+        StringBuilder iniciais = new StringBuilder();
+
+        while (atual < fim) {
+            char inicial = ordenadas.get(atual).chave().charAt(profundidade);
+            int fimGrupo = atual + 1;
+            while (fimGrupo < fim && ordenadas.get(fimGrupo).chave().charAt(profundidade) == inicial) {
+                fimGrupo++;
+            }
+
+            // Com as chaves ordenadas, o prefixo comum do grupo é o da primeira com a última
+            String primeira = ordenadas.get(atual).chave();
+            String ultima = ordenadas.get(fimGrupo - 1).chave();
+            int comum = profundidade + 1;
+            while (comum < primeira.length() && primeira.charAt(comum) == ultima.charAt(comum)) {
+                comum++;
+            }
+
+            No<T> filho = construirNo(ordenadas, atual, fimGrupo, comum, primeira.substring(profundidade, comum), k);
+            filhos.add(filho);
+            iniciais.append(inicial);
+            candidatos.addAll(filho.melhores());
+            atual = fimGrupo;
+        }
+
+        return new No<>(rotulo, iniciais.toString().toCharArray(), List.copyOf(filhos), melhores(candidatos, k));
+    }
+
+    private static <T> List<Entrada<T>> melhores(List<Entrada<T>> candidatos, int k) {
+        candidatos.sort(MAIOR_PESO);
+
+        List<Entrada<T>> melhores = new ArrayList<>(Math.min(k, candidatos.size()));
+        Set<T> vistos = new HashSet<>();
+        for (Entrada<T> candidato : candidatos) {
+            if (vistos.add(candidato.valor())) {
+                melhores.add(candidato);
+                if (melhores.size() == k) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(melhores);
+    }
+}
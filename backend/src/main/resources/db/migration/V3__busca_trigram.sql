@@ -0,0 +1,19 @@
+-- =====================================================
+-- Busca de pictogramas no banco (vox.busca.modo=BANCO)
+-- =====================================================
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Mesma normalização de TextoBusca: minúsculas, sem acento, pontuação vira espaço.
+-- unaccent() não é IMMUTABLE (depende do dicionário padrão); fixando o dicionário
+-- a função pode ser usada em índice.
+CREATE OR REPLACE FUNCTION vox_normalizar(texto TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$ SELECT trim(regexp_replace(lower(public.unaccent('public.unaccent'::regdictionary, texto)), '[^a-z0-9]+', ' ', 'g')) $$;
+
+CREATE INDEX IF NOT EXISTS idx_pictograma_label_trgm
+    ON pictogramas USING gin (vox_normalizar(label) gin_trgm_ops) WHERE ativo;
+
+CREATE INDEX IF NOT EXISTS idx_pictograma_label_alternativo_trgm
+    ON pictogramas USING gin (vox_normalizar(label_alternativo) gin_trgm_ops) WHERE ativo;
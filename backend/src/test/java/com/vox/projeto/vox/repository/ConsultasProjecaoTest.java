@@ -0,0 +1,195 @@
+package com.vox.projeto.vox.repository;
+
+import com.vox.projeto.vox.entity.Categoria;
+import com.vox.projeto.vox.entity.Mensagem;
+import com.vox.projeto.vox.entity.Pictograma;
+import com.vox.projeto.vox.entity.Usuario;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Quantidade de comandos SQL das leituras por projeção, medida pelas
+ * estatísticas do Hibernate. Cache de segundo nível desligado para que toda
+ * leitura chegue ao banco.
+ *
+ * Usa o Postgres do compose.yaml (docker compose up); os dados são criados
+ * na transação do teste e desfeitos no final. Fica fora do mvn test comum:
+ * roda com mvn test -Pbanco.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Tag("banco")
+class ConsultasProjecaoTest {
+
+    private static final int PICTOGRAMAS_POR_CATEGORIA = 5;
+    private static final int MENSAGENS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PictogramaRepository pictogramaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private MensagemRepository mensagemRepository;
+
+    private Statistics estatisticas;
+    private Usuario usuario;
+    private Categoria categoriaDoSistema;
+    private Categoria categoriaDoUsuario;
+
+    @BeforeEach
+    void criarDados() {
+        usuario = Usuario.builder().nome("Teste").email("teste@vox.local").build();
+        entityManager.persist(usuario);
+
+        categoriaDoSistema = criarCategoria("Comida", null);
+        categoriaDoUsuario = criarCategoria("Minhas", usuario);
+
+        for (int i = 0; i < PICTOGRAMAS_POR_CATEGORIA; i++) {
+            criarPictograma("Sistema " + i, categoriaDoSistema, null, i);
+            criarPictograma("Meu " + i, categoriaDoUsuario, usuario, i);
+        }
+        for (int i = 0; i < MENSAGENS; i++) {
+            criarMensagem("Mensagem " + i, i > 0);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void boardCarregaEmUmaConsulta() {
+        var linhas = pictogramaRepository.findBoardDoUsuario(usuario.getId());
+
+        assertEquals(2 * PICTOGRAMAS_POR_CATEGORIA, linhas.stream()
+                .filter(linha -> linha.pictogramaId() != null && criadaNoTeste(linha.categoriaId()))
+                .count());
+        assertUmaConsultaSemEntidades();
+    }
+
+    @Test
+    void categoriasComContagemEmUmaConsulta() {
+        var categorias = categoriaRepository.findCategoriasDisponiveisParaUsuario(usuario.getId());
+
+        assertEquals(2, categorias.stream().filter(categoria -> criadaNoTeste(categoria.id())).count());
+        assertUmaConsultaSemEntidades();
+    }
+
+    @Test
+    void pictogramasDaCategoriaEmUmaConsulta() {
+        var pictogramas = pictogramaRepository.findPictogramasDisponiveisParaUsuario(usuario.getId(), categoriaDoSistema.getId());
+
+        assertEquals(PICTOGRAMAS_POR_CATEGORIA, pictogramas.size());
+        assertUmaConsultaSemEntidades();
+    }
+
+    @Test
+    void maisUsadosEmUmaConsulta() {
+        var pictogramas = pictogramaRepository.findMaisUsadosPorUsuario(usuario.getId(), Limit.of(3));
+
+        assertEquals(3, pictogramas.size());
+        assertUmaConsultaSemEntidades();
+    }
+
+    @Test
+    void historicoPaginadoSemCarregarUsuario() {
+        var pagina = mensagemRepository.findResumosPorUsuario(usuario.getId(), PageRequest.of(0, 2));
+
+        assertEquals(2, pagina.getNumberOfElements());
+        assertEquals(MENSAGENS, pagina.getTotalElements());
+        assertTrue(pagina.stream().allMatch(mensagem -> "Teste".equals(mensagem.usuarioNome())));
+        // Página cheia: a contagem é o segundo comando
+        assertConsultasSemEntidades(2);
+    }
+
+    @Test
+    void favoritasSemCarregarUsuario() {
+        var mensagens = mensagemRepository.findFavoritasPorUsuario(usuario.getId());
+
+        assertEquals(MENSAGENS - 1, mensagens.size());
+        assertTrue(mensagens.stream().allMatch(mensagem -> "Teste".equals(mensagem.usuarioNome())));
+        assertUmaConsultaSemEntidades();
+    }
+
+    @Test
+    void periodoSemCarregarUsuario() {
+        LocalDateTime agora = LocalDateTime.now();
+        var mensagens = mensagemRepository.findPorUsuarioNoPeriodo(usuario.getId(), agora.minusHours(1), agora.plusHours(1));
+
+        assertEquals(MENSAGENS, mensagens.size());
+        assertTrue(mensagens.stream().allMatch(mensagem -> "Teste".equals(mensagem.usuarioNome())));
+        assertUmaConsultaSemEntidades();
+    }
+
+    private void assertUmaConsultaSemEntidades() {
+        assertConsultasSemEntidades(1);
+    }
+
+    private void assertConsultasSemEntidades(int comandos) {
+        assertEquals(comandos, estatisticas.getPrepareStatementCount(), "comandos SQL");
+        assertEquals(0, estatisticas.getEntityLoadCount(), "entidades carregadas");
+        assertEquals(0, estatisticas.getEntityFetchCount(), "carregamentos preguiçosos");
+    }
+
+    // O banco pode já ter as categorias do sistema; só as criadas aqui são contadas
+    private boolean criadaNoTeste(Long categoriaId) {
+        return categoriaId.equals(categoriaDoSistema.getId()) || categoriaId.equals(categoriaDoUsuario.getId());
+    }
+
+    private Categoria criarCategoria(String nome, Usuario dono) {
+        Categoria categoria = Categoria.builder()
+                .nome(nome)
+                .cor("bg-blue-500")
+                .padrao(dono == null)
+                .usuario(dono)
+                .build();
+        entityManager.persist(categoria);
+        return categoria;
+    }
+
+    private void criarPictograma(String label, Categoria categoria, Usuario dono, int ordem) {
+        entityManager.persist(Pictograma.builder()
+                .label(label)
+                .cor("bg-blue-500")
+                .padrao(dono == null)
+                .ordem(ordem)
+                .categoria(categoria)
+                .usuario(dono)
+                .build());
+    }
+
+    private void criarMensagem(String texto, boolean favorita) {
+        entityManager.persist(Mensagem.builder()
+                .conteudoJson("[]")
+                .textoCompleto(texto)
+                .usuario(usuario)
+                .favorita(favorita)
+                .vezesReutilizada(0)
+                .build());
+    }
+}
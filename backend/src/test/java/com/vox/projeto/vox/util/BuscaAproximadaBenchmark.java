@@ -0,0 +1,92 @@
+package com.vox.projeto.vox.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Medição simples da busca aproximada do {@link IndiceInvertido}, fora da
+ * suíte de testes. Indexa rótulos aleatórios de duas palavras e consulta
+ * palavras do vocabulário com um ou dois erros de digitação.
+ *
+ * Rodar com o classpath de teste:
+ * {@code java -cp target/classes:target/test-classes com.vox.projeto.vox.util.BuscaAproximadaBenchmark [rotulos]}
+ */
+public final class BuscaAproximadaBenchmark {
+
+    private static final String[] SILABAS = {
+            "ba", "be", "bo", "ca", "co", "cu", "da", "de", "fa", "fi", "ga", "go", "la", "le", "li",
+            "ma", "me", "mo", "na", "ne", "pa", "pe", "po", "ra", "ri", "ro", "sa", "se", "ta", "to", "va", "ze"};
+    private static final int CONSULTAS = 20_000;
+
+    private BuscaAproximadaBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 40_000;
+        Random random = new Random(42);
+
+        IndiceInvertido<Long> indice = new IndiceInvertido<>();
+        List<String> palavras = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (long id = 0; id < quantidade; id++) {
+            String primeira = palavra(random);
+            String segunda = palavra(random);
+            palavras.add(primeira);
+            indice.adicionar(id, primeira + " " + segunda, null, id);
+        }
+        long indexacao = System.nanoTime() - inicio;
+
+        String[] consultas = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            String palavra = palavras.get(random.nextInt(palavras.size()));
+            consultas[i] = errar(errar(palavra, random), random);
+        }
+
+        // Aquecimento do JIT antes de medir
+        for (int rodada = 0; rodada < 3; rodada++) {
+            for (String consulta : consultas) {
+                indice.buscarAproximado(consulta);
+            }
+        }
+
+        long[] tempos = new long[CONSULTAS];
+        long resultados = 0;
+        for (int i = 0; i < CONSULTAS; i++) {
+            long antes = System.nanoTime();
+            resultados += indice.buscarAproximado(consultas[i]).size();
+            tempos[i] = System.nanoTime() - antes;
+        }
+        Arrays.sort(tempos);
+
+        System.out.printf("rotulos=%d indexacao=%d ms consultas=%d resultados/consulta=%.1f%n",
+                quantidade, indexacao / 1_000_000, CONSULTAS, (double) resultados / CONSULTAS);
+        System.out.printf("p50=%d us p90=%d us p99=%d us max=%d us%n",
+                micros(tempos, 0.50), micros(tempos, 0.90), micros(tempos, 0.99), tempos[CONSULTAS - 1] / 1_000);
+    }
+
+    private static String palavra(Random random) {
+        StringBuilder palavra = new StringBuilder();
+        int silabas = 2 + random.nextInt(3);
+        for (int i = 0; i < silabas; i++) {
+            palavra.append(SILABAS[random.nextInt(SILABAS.length)]);
+        }
+        return palavra.toString();
+    }
+
+    /** Troca, apaga ou transpõe uma letra. */
+    private static String errar(String palavra, Random random) {
+        int posicao = random.nextInt(palavra.length() - 1);
+        return switch (random.nextInt(3)) {
+            case 0 -> palavra.substring(0, posicao) + 'x' + palavra.substring(posicao + 1);
+            case 1 -> palavra.substring(0, posicao) + palavra.substring(posicao + 1);
+            default -> palavra.substring(0, posicao) + palavra.charAt(posicao + 1) + palavra.charAt(posicao)
+                    + palavra.substring(posicao + 2);
+        };
+    }
+
+    private static long micros(long[] ordenados, double percentil) {
+        return ordenados[(int) (percentil * (ordenados.length - 1))] / 1_000;
+    }
+}
@@ -0,0 +1,112 @@
+package com.vox.projeto.vox.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void vazioEstimaZero() {
+        assertEquals(0, new HyperLogLog().estimar());
+    }
+
+    @Test
+    void repetidosNaoContam() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            sketch.adicionar(i % 10);
+        }
+
+        assertEquals(10, sketch.estimar());
+    }
+
+    @Test
+    void cardinalidadePequenaQuaseExata() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 200; id++) {
+            sketch.adicionar(id);
+        }
+
+        assertTrue(Math.abs(sketch.estimar() - 200) <= 4, "estimativa " + sketch.estimar());
+    }
+
+    @Test
+    void cardinalidadeGrandeDentroDoErroPadrao() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 0; id < 100_000; id++) {
+            sketch.adicionar(id);
+        }
+
+        // Erro padrão de ~3,2% com 2^10 registradores; 3 desvios de folga
+        assertTrue(Math.abs(sketch.estimar() - 100_000) < 10_000, "estimativa " + sketch.estimar());
+    }
+
+    @Test
+    void uniaoEquivaleAoSketchDosDoisConjuntos() {
+        HyperLogLog segunda = new HyperLogLog();
+        HyperLogLog terca = new HyperLogLog();
+        HyperLogLog semana = new HyperLogLog();
+        for (long id = 0; id < 300; id++) {
+            segunda.adicionar(id);
+            terca.adicionar(id + 150);
+            semana.adicionar(id);
+            semana.adicionar(id + 150);
+        }
+
+        segunda.unir(terca);
+
+        assertArrayEquals(semana.serializar(), segunda.serializar());
+    }
+
+    @Test
+    void poucosRegistradoresSerializamNoFormatoEsparso() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 0; id < 20; id++) {
+            sketch.adicionar(id);
+        }
+
+        byte[] dados = sketch.serializar();
+
+        assertEquals(1, dados[0], "formato");
+        assertTrue(dados.length < 1 + 1024, "tamanho " + dados.length);
+        assertEquals(sketch.estimar(), HyperLogLog.desserializar(dados).estimar());
+        assertArrayEquals(dados, HyperLogLog.desserializar(dados).serializar());
+    }
+
+    @Test
+    void muitosRegistradoresSerializamNoFormatoDenso() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 0; id < 5_000; id++) {
+            sketch.adicionar(id);
+        }
+
+        byte[] dados = sketch.serializar();
+
+        assertEquals(0, dados[0], "formato");
+        assertEquals(1 + 1024, dados.length);
+        assertArrayEquals(dados, HyperLogLog.desserializar(dados).serializar());
+    }
+
+    @Test
+    void uniaoDeEsparsoComDensoAposDesserializar() {
+        HyperLogLog pequeno = new HyperLogLog();
+        HyperLogLog grande = new HyperLogLog();
+        HyperLogLog esperado = new HyperLogLog();
+        for (long id = 0; id < 5_000; id++) {
+            grande.adicionar(id);
+            esperado.adicionar(id);
+        }
+        for (long id = 10_000; id < 10_010; id++) {
+            pequeno.adicionar(id);
+            esperado.adicionar(id);
+        }
+
+        HyperLogLog uniao = HyperLogLog.desserializar(pequeno.serializar());
+        uniao.unir(HyperLogLog.desserializar(grande.serializar()));
+
+        assertArrayEquals(esperado.serializar(), uniao.serializar());
+    }
+}
@@ -0,0 +1,117 @@
+package com.vox.projeto.vox.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceInvertidoTest {
+
+    private IndiceInvertido<String> indice;
+
+    @BeforeEach
+    void preparar() {
+        indice = new IndiceInvertido<>();
+        indice.adicionar(1, "Água", "bebida", "agua");
+        indice.adicionar(2, "Água de coco", null, "agua de coco");
+        indice.adicionar(3, "Guarda-chuva", "sombrinha", "guarda-chuva");
+        indice.adicionar(4, "Maçã", "fruta", "maca");
+        indice.adicionar(5, "Banana", "fruta", "banana");
+    }
+
+    @Test
+    void ignoraAcentosEMaiusculas() {
+        assertEquals(Map.of(1L, 5, 2L, 4), qualidades("AGUA"));
+        assertEquals(Map.of(4L, 5), qualidades("maca"));
+    }
+
+    @Test
+    void termosCurtosCasamSoComInicioDePalavra() {
+        // "ua" aparece dentro de "agua" e "guarda", mas não começa palavra nenhuma
+        assertTrue(indice.buscar("ua").isEmpty());
+        assertEquals(Map.of(1L, 4, 2L, 4), qualidades("ag"));
+    }
+
+    @Test
+    void termosLongosCasamEmQualquerPosicao() {
+        // "uar" só existe no meio de "guarda"
+        assertEquals(Map.of(3L, 2), qualidades("uar"));
+    }
+
+    @Test
+    void todosOsTermosPrecisamCasar() {
+        assertEquals(Map.of(2L, 3), qualidades("coco agua"));
+        assertTrue(indice.buscar("agua banana").isEmpty());
+    }
+
+    @Test
+    void sinonimosTemAPiorQualidade() {
+        assertEquals(Map.of(4L, 1, 5L, 1), qualidades("fruta"));
+        assertEquals(Map.of(3L, 1), qualidades("sombr"));
+    }
+
+    @Test
+    void inicioDePalavraValeMaisQueMeioDePalavra() {
+        assertEquals(Map.of(3L, 3), qualidades("chuva"));
+        assertEquals(Map.of(3L, 2), qualidades("huva"));
+    }
+
+    @Test
+    void consultaVaziaNaoRetornaNada() {
+        assertTrue(indice.buscar("").isEmpty());
+        assertTrue(indice.buscar(" - ").isEmpty());
+    }
+
+    @Test
+    void removerTiraODocumentoDeTodasAsPostagens() {
+        indice.remover(1);
+
+        assertEquals(Map.of(2L, 4), qualidades("agua"));
+        assertEquals(Map.of(2L, 4), qualidades("ag"));
+        assertTrue(indice.buscar("bebida").isEmpty());
+        assertNull(indice.valor(1));
+        assertEquals(4, indice.tamanho());
+    }
+
+    @Test
+    void readicionarSubstituiOTextoAnterior() {
+        indice.adicionar(5, "Pera", "fruta", "pera");
+
+        assertTrue(indice.buscar("banana").isEmpty());
+        assertEquals(Map.of(5L, 5), qualidades("pera"));
+        assertEquals("pera", indice.valor(5));
+        assertEquals(5, indice.tamanho());
+    }
+
+    @Test
+    void buscaAproximadaToleraErrosDeDigitacao() {
+        List<IndiceInvertido.Aproximado<String>> resultados = indice.buscarAproximado("bnaana");
+
+        assertEquals(1, resultados.size());
+        assertEquals(5L, resultados.get(0).id());
+        assertEquals(1, resultados.get(0).distancia());
+    }
+
+    @Test
+    void buscaAproximadaNaoCorrigeTermosDeDuasLetras() {
+        assertTrue(indice.buscarAproximado("cc").isEmpty());
+    }
+
+    @Test
+    void buscaAproximadaEsqueceTermosRemovidos() {
+        indice.remover(5);
+
+        assertTrue(indice.buscarAproximado("banana").isEmpty());
+    }
+
+    private Map<Long, Integer> qualidades(String consulta) {
+        return indice.buscar(consulta).stream()
+                .collect(Collectors.toMap(IndiceInvertido.Resultado::id, IndiceInvertido.Resultado::qualidade));
+    }
+}
@@ -0,0 +1,83 @@
+package com.vox.projeto.vox.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimiteAdaptativoTest {
+
+    private static final long MILISSEGUNDO = 1_000_000L;
+
+    @Test
+    void limiteInicialRespeitaMinimoEMaximo() {
+        assertEquals(4, new LimiteAdaptativo(1, 4, 16, 1.5).getLimite());
+        assertEquals(16, new LimiteAdaptativo(100, 4, 16, 1.5).getLimite());
+    }
+
+    @Test
+    void recusaAcimaDoLimiteAteLiberarVaga() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 1, 10, 1.5);
+
+        assertTrue(limite.adquirir());
+        assertTrue(limite.adquirir());
+        assertFalse(limite.adquirir());
+
+        limite.liberar(MILISSEGUNDO);
+
+        assertEquals(1, limite.getEmVoo());
+        assertTrue(limite.adquirir());
+    }
+
+    @Test
+    void latenciaEstavelComCargaFazOLimiteCrescerAteOMaximo() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(4, 1, 50, 1.5);
+
+        for (int i = 0; i < 2_000; i++) {
+            saturarERodar(limite, 5 * MILISSEGUNDO);
+        }
+
+        assertEquals(50, limite.getLimite());
+    }
+
+    @Test
+    void latenciaDegradadaEncolheOLimiteSemPassarDoMinimo() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(40, 2, 50, 1.5);
+        for (int i = 0; i < 1_000; i++) {
+            saturarERodar(limite, 5 * MILISSEGUNDO);
+        }
+        int antes = limite.getLimite();
+
+        for (int i = 0; i < 30; i++) {
+            saturarERodar(limite, 100 * MILISSEGUNDO);
+        }
+
+        assertTrue(limite.getLimite() < antes / 2, antes + " -> " + limite.getLimite());
+        assertTrue(limite.getLimite() >= 2);
+    }
+
+    @Test
+    void semCargaOLimiteNaoCresce() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 1, 50, 1.5);
+
+        for (int i = 0; i < 2_000; i++) {
+            assertTrue(limite.adquirir());
+            limite.liberar(5 * MILISSEGUNDO);
+        }
+
+        assertEquals(10, limite.getLimite());
+    }
+
+    /** Ocupa todas as vagas e libera uma só, como numa fila cheia. */
+    private static void saturarERodar(LimiteAdaptativo limite, long rtt) {
+        int adquiridas = 0;
+        while (limite.adquirir()) {
+            adquiridas++;
+        }
+        limite.liberar(rtt);
+        for (int i = 1; i < adquiridas; i++) {
+            limite.liberar(rtt);
+        }
+    }
+}
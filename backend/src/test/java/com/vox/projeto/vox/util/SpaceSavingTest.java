@@ -0,0 +1,115 @@
+package com.vox.projeto.vox.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingTest {
+
+    @Test
+    void contaExatoAbaixoDaCapacidade() {
+        SpaceSaving resumo = new SpaceSaving(3);
+        resumo.oferecer(1, 2);
+        resumo.oferecer(2, 1);
+        resumo.oferecer(1, 1);
+
+        assertEquals(List.of(new SpaceSaving.Item(1, 3, 0), new SpaceSaving.Item(2, 1, 0)), resumo.topo(10));
+    }
+
+    @Test
+    void itemNovoComResumoCheioHerdaOMenorContadorComoErro() {
+        SpaceSaving resumo = new SpaceSaving(2);
+        resumo.oferecer(1, 5);
+        resumo.oferecer(2, 3);
+        resumo.oferecer(3, 1);
+
+        assertEquals(List.of(new SpaceSaving.Item(1, 5, 0), new SpaceSaving.Item(3, 4, 3)), resumo.topo(10));
+    }
+
+    @Test
+    void combinarSomaOMinimoDoOutroNosItensAusentes() {
+        SpaceSaving gravado = new SpaceSaving(2);
+        gravado.oferecer(1, 10);
+        gravado.oferecer(2, 4);
+
+        SpaceSaving delta = new SpaceSaving(2);
+        delta.oferecer(1, 1);
+        delta.oferecer(3, 2);
+
+        gravado.combinar(delta);
+
+        // 2 pode ter tido até 1 ocorrência omitida no delta cheio; 3 até 4 no gravado
+        assertEquals(List.of(new SpaceSaving.Item(1, 11, 0), new SpaceSaving.Item(3, 6, 4)), gravado.topo(10));
+    }
+
+    @Test
+    void combinarComResumoNaoCheioNaoSomaErro() {
+        SpaceSaving gravado = new SpaceSaving(4);
+        gravado.oferecer(1, 3);
+
+        SpaceSaving delta = new SpaceSaving(4);
+        delta.oferecer(2, 2);
+
+        gravado.combinar(delta);
+
+        assertEquals(List.of(new SpaceSaving.Item(1, 3, 0), new SpaceSaving.Item(2, 2, 0)), gravado.topo(10));
+    }
+
+    /**
+     * Mesmo uso do TopPictogramasService: um delta por minuto combinado no
+     * resumo gravado do dia. As contagens nunca ficam abaixo do real, o erro
+     * cobre a diferença e os itens frequentes não se perdem.
+     */
+    @Test
+    void combinacoesSucessivasMantemLimitesPorCima() {
+        Random aleatorio = new Random(42);
+        Map<Long, Integer> real = new HashMap<>();
+        SpaceSaving dia = new SpaceSaving(20);
+        int total = 0;
+
+        for (int minuto = 0; minuto < 200; minuto++) {
+            SpaceSaving delta = new SpaceSaving(20);
+            for (int toque = 0; toque < 50; toque++) {
+                // Zipf aproximado: poucos pictogramas concentram os toques
+                long id = (long) Math.floor(Math.pow(aleatorio.nextDouble(), 3) * 300);
+                delta.oferecer(id, 1);
+                real.merge(id, 1, Integer::sum);
+                total++;
+            }
+            dia.combinar(SpaceSaving.desserializar(delta.serializar(), 20));
+            dia = SpaceSaving.desserializar(dia.serializar(), 20);
+        }
+
+        for (SpaceSaving.Item item : dia.topo(20)) {
+            int contagemReal = real.getOrDefault(item.id(), 0);
+            assertTrue(item.contagem() >= contagemReal, "contagem abaixo do real para " + item.id());
+            assertTrue(item.contagem() - item.erro() <= contagemReal, "erro não cobre a diferença para " + item.id());
+        }
+
+        int limiar = total / 20;
+        List<Long> presentes = dia.topo(20).stream().map(SpaceSaving.Item::id).toList();
+        real.forEach((id, contagem) -> {
+            if (contagem > limiar) {
+                assertTrue(presentes.contains(id), "item frequente perdido: " + id);
+            }
+        });
+    }
+
+    @Test
+    void serializacaoPreservaContagensEErros() {
+        SpaceSaving resumo = new SpaceSaving(2);
+        resumo.oferecer(7, 4);
+        resumo.oferecer(8, 1);
+        resumo.oferecer(9, 1);
+
+        SpaceSaving copia = SpaceSaving.desserializar(resumo.serializar(), 2);
+
+        assertEquals(resumo.topo(10), copia.topo(10));
+    }
+}
@@ -0,0 +1,99 @@
+package com.vox.projeto.vox.util;
+
+import com.vox.projeto.vox.util.SymSpell.Sugestao;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymSpellTest {
+
+    @Test
+    void distanciaContaTransposicaoComoUmaEdicao() {
+        assertEquals(1, SymSpell.distancia("agua", "auga", 2));
+        assertEquals(1, SymSpell.distancia("cachoro", "cachorro", 2));
+        assertEquals(1, SymSpell.distancia("pao", "pau", 2));
+        assertEquals(0, SymSpell.distancia("casa", "casa", 2));
+    }
+
+    @Test
+    void distanciaEhOptimalStringAlignment() {
+        // Damerau irrestrito daria 2 (ca -> ac -> abc); OSA não edita a mesma substring duas vezes
+        assertEquals(3, SymSpell.distancia("ca", "abc", 3));
+    }
+
+    @Test
+    void distanciaParaNoCorteComMaximoMaisUm() {
+        assertEquals(3, SymSpell.distancia("banana", "cachorro", 2));
+        assertEquals(2, SymSpell.distancia("abcdef", "uvwxyz", 1));
+        assertEquals(2, SymSpell.distancia("", "abcd", 1));
+    }
+
+    @Test
+    void sugereDoMaisProximoParaOMaisDistante() {
+        SymSpell dicionario = dicionario("casa", "caso", "cama", "massa", "cachorro");
+
+        assertEquals(List.of(
+                new Sugestao("casa", 0),
+                new Sugestao("cama", 1),
+                new Sugestao("caso", 1),
+                new Sugestao("massa", 2)), dicionario.sugerir("casa", 2));
+    }
+
+    @Test
+    void distanciaPedidaNaoPassaDaMaximaDoDicionario() {
+        SymSpell dicionario = dicionario("cachorro");
+
+        assertTrue(dicionario.sugerir("cxxhorro", 1).isEmpty());
+        assertEquals(List.of(new Sugestao("cachorro", 2)), dicionario.sugerir("cxxhorro", 5));
+        assertTrue(dicionario.sugerir("cxxxorro", 5).isEmpty());
+    }
+
+    @Test
+    void erroDepoisDoPrefixoAindaEhEncontrado() {
+        SymSpell dicionario = new SymSpell(2, 3);
+        dicionario.adicionar("borboleta");
+
+        // Prefixo "bor" igual; as duas edições estão além dele e só aparecem na distância completa
+        assertEquals(List.of(new Sugestao("borboleta", 2)), dicionario.sugerir("borbuleto", 2));
+        assertTrue(dicionario.sugerir("borbuxxxx", 2).isEmpty());
+    }
+
+    @Test
+    void erroDentroDoPrefixoAindaEhEncontrado() {
+        SymSpell dicionario = new SymSpell(2, 3);
+        dicionario.adicionar("borboleta");
+
+        assertEquals(List.of(new Sugestao("borboleta", 1)), dicionario.sugerir("obrboleta", 2));
+        assertEquals(List.of(new Sugestao("borboleta", 1)), dicionario.sugerir("brboleta", 2));
+    }
+
+    @Test
+    void removerTiraOTermoSemAfetarVizinhos() {
+        SymSpell dicionario = dicionario("casa", "caso");
+
+        dicionario.remover("casa");
+        dicionario.remover("inexistente");
+
+        assertEquals(1, dicionario.tamanho());
+        assertEquals(List.of(new Sugestao("caso", 1)), dicionario.sugerir("casa", 1));
+    }
+
+    @Test
+    void adicionarDuasVezesNaoDuplica() {
+        SymSpell dicionario = dicionario("casa", "casa");
+
+        assertEquals(1, dicionario.tamanho());
+        assertEquals(1, dicionario.sugerir("casa", 0).size());
+    }
+
+    private static SymSpell dicionario(String... termos) {
+        SymSpell dicionario = new SymSpell(2, 7);
+        for (String termo : termos) {
+            dicionario.adicionar(termo);
+        }
+        return dicionario;
+    }
+}
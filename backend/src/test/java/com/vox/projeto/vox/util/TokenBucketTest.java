@@ -0,0 +1,79 @@
+package com.vox.projeto.vox.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+    private static final long INICIO = 1_000 * SEGUNDO;
+
+    @Test
+    void baldeNovoPermiteRajadaDaCapacidade() {
+        TokenBucket balde = new TokenBucket(5, 1, INICIO);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, balde.consumir(INICIO), "ficha " + i);
+        }
+        assertTrue(balde.consumir(INICIO) > 0);
+    }
+
+    @Test
+    void esperaInformadaEhAteAProximaFicha() {
+        TokenBucket balde = new TokenBucket(2, 4, INICIO);
+        balde.consumir(INICIO);
+        balde.consumir(INICIO);
+
+        long espera = balde.consumir(INICIO);
+
+        assertEquals(SEGUNDO / 4, espera);
+        assertTrue(balde.consumir(INICIO + espera - 1) > 0);
+        assertEquals(0, balde.consumir(INICIO + espera));
+    }
+
+    @Test
+    void recusaNaoConsomeFicha() {
+        TokenBucket balde = new TokenBucket(1, 1, INICIO);
+        balde.consumir(INICIO);
+
+        for (int i = 0; i < 10; i++) {
+            balde.consumir(INICIO + i);
+        }
+
+        assertEquals(0, balde.consumir(INICIO + SEGUNDO));
+    }
+
+    @Test
+    void reabastecimentoNaoPassaDaCapacidade() {
+        TokenBucket balde = new TokenBucket(3, 1, INICIO);
+        long depois = INICIO + 60 * SEGUNDO;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, balde.consumir(depois));
+        }
+        assertTrue(balde.consumir(depois) > 0);
+    }
+
+    @Test
+    void taxaSustentadaUmaFichaPorIntervalo() {
+        TokenBucket balde = new TokenBucket(1, 10, INICIO);
+
+        int aceitas = 0;
+        for (long t = INICIO; t < INICIO + SEGUNDO; t += SEGUNDO / 100) {
+            if (balde.consumir(t) == 0) {
+                aceitas++;
+            }
+        }
+
+        assertEquals(10, aceitas);
+    }
+
+    @Test
+    void rejeitaParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, INICIO));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, INICIO));
+    }
+}
@@ -0,0 +1,100 @@
+package com.vox.projeto.vox.util;
+
+import com.vox.projeto.vox.util.TrieCompacta.Entrada;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieCompactaTest {
+
+    private static final TrieCompacta<String> TRIE = TrieCompacta.construir(List.of(
+            new Entrada<>("cachorro", "cachorro", 50),
+            new Entrada<>("cachecol", "cachecol", 10),
+            new Entrada<>("casa", "casa", 30),
+            new Entrada<>("agua", "agua de coco", 20),
+            new Entrada<>("de", "agua de coco", 20),
+            new Entrada<>("coco", "agua de coco", 20),
+            new Entrada<>("agua", "agua", 40),
+            new Entrada<>("", "sem chave", 99)
+    ), 3);
+
+    @Test
+    void trieVaziaNaoCompletaNada() {
+        assertTrue(TrieCompacta.<String>vazia().completar("a", 5).isEmpty());
+        assertEquals(0, TrieCompacta.<String>vazia().tamanho());
+    }
+
+    @Test
+    void chavesVaziasFicamDeFora() {
+        assertEquals(7, TRIE.tamanho());
+        assertEquals(List.of("cachorro", "agua", "casa"), valores(""));
+    }
+
+    @Test
+    void prefixoQueTerminaNoMeioDoArco() {
+        // "cachorro" e "cachecol" dividem o arco "ach" abaixo de "c"; "ca" e "cac" param dentro dele
+        assertEquals(List.of("cachorro", "casa", "cachecol"), valores("ca"));
+        assertEquals(List.of("cachorro", "cachecol"), valores("cac"));
+        assertEquals(List.of("cachorro"), valores("cacho"));
+    }
+
+    @Test
+    void prefixoQueDivergeNoMeioDoArcoNaoCompletaNada() {
+        assertTrue(TRIE.completar("cax", 5).isEmpty());
+        assertTrue(TRIE.completar("cachz", 5).isEmpty());
+    }
+
+    @Test
+    void prefixoMaiorQueAChaveNaoCompletaNada() {
+        assertTrue(TRIE.completar("cachorros", 5).isEmpty());
+    }
+
+    @Test
+    void chaveCompletaSeCompletaASiMesma() {
+        assertEquals(List.of("cachorro"), valores("cachorro"));
+    }
+
+    @Test
+    void valorComVariasChavesApareceUmaVez() {
+        assertEquals(List.of("agua", "agua de coco"), valores("a"));
+        assertEquals(List.of("agua de coco"), valores("co"));
+    }
+
+    @Test
+    void resultadoTrazAChaveQueCasou() {
+        Entrada<String> entrada = TRIE.completar("coc", 1).get(0);
+
+        assertEquals("coco", entrada.chave());
+        assertEquals(20, entrada.peso());
+    }
+
+    @Test
+    void limiteCortaOsMelhores() {
+        assertEquals(List.of("cachorro"), valores("c", 1));
+    }
+
+    @Test
+    void empateNoPesoDesempataPelaChave() {
+        TrieCompacta<Integer> trie = TrieCompacta.construir(List.of(
+                new Entrada<>("bola", 2, 5),
+                new Entrada<>("banana", 1, 5),
+                new Entrada<>("bebe", 3, 5)), 3);
+
+        List<Integer> valores = new ArrayList<>();
+        trie.completar("b", 3).forEach(entrada -> valores.add(entrada.valor()));
+
+        assertEquals(List.of(1, 3, 2), valores);
+    }
+
+    private static List<String> valores(String prefixo) {
+        return valores(prefixo, 5);
+    }
+
+    private static List<String> valores(String prefixo, int limite) {
+        return TRIE.completar(prefixo, limite).stream().map(Entrada::valor).toList();
+    }
+}
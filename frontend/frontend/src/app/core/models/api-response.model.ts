@@ -1,3 +1,8 @@
+export interface CursorPageResponse<T> {
+  itens: T[];
+  proximoCursor?: string;
+}
+
 export interface PageResponse<T> {
   content: T[];
   pageable: {
@@ -1,5 +1,3 @@
-import {Pictograma} from './pictograma.model';
-
 export interface Categoria {
   id: number;
   nome: string;
@@ -13,7 +11,3 @@ export interface Categoria {
   criadoEm: string;
   atualizadoEm: string;
 }
-
-export interface CategoriaComPictogramas extends Categoria {
-  pictogramas: Pictograma[];
-}
@@ -21,4 +21,5 @@ export interface MensagemCreate {
 export interface Estatisticas {
   totalMensagens: number;
   mensagensNoPeriodo: number;
+  pictogramasDistintosNoPeriodo: number;
 }
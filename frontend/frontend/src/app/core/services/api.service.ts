@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpClient, HttpErrorResponse, HttpHeaders, HttpParams } from '@angular/common/http';
+import { Observable, retry, throwError, timer } from 'rxjs';
 import {environment} from '../../../environments/environment.prod';
 
 @Injectable({
@@ -8,12 +8,21 @@ import {environment} from '../../../environments/environment.prod';
 })
 export class ApiService {
   private baseUrl = environment.apiUrl || 'http://localhost:8080/api';
+  private static readonly TENTATIVAS_ESCRITA = 3;
+  private static readonly ESPERA_INICIAL_MS = 500;
+  // Acima disso o toque já perdeu o sentido; melhor mostrar o erro
+  private static readonly ESPERA_MAXIMA_MS = 10_000;
+  private static readonly DISPOSITIVO_KEY = 'vox_dispositivo';
+
+  // Identifica esta instalação no limite de taxa do backend (um balde por dispositivo)
+  private readonly dispositivo = this.carregarDispositivo();
 
   constructor(private http: HttpClient) {}
 
   private getHeaders(usuarioId?: number): HttpHeaders {
     let headers = new HttpHeaders({
-      'Content-Type': 'application/json'
+      'Content-Type': 'application/json',
+      'Dispositivo-Origem': this.dispositivo
     });
 
     if (usuarioId) {
@@ -36,6 +45,25 @@ export class ApiService {
     });
   }
 
+  /**
+   * POST repetido quando a rede falha. A Idempotency-Key é gerada uma vez por
+   * escrita lógica e reenviada em todas as tentativas, então o backend devolve
+   * a resposta já registrada em vez de gravar de novo.
+   */
+  postIdempotente<T>(endpoint: string, body: any, usuarioId?: number): Observable<T> {
+    const headers = this.getHeaders(usuarioId).set('Idempotency-Key', this.gerarChave());
+
+    return this.http.post<T>(`${this.baseUrl}${endpoint}`, body, { headers }).pipe(
+      retry({
+        count: ApiService.TENTATIVAS_ESCRITA,
+        delay: (erro, tentativa) => {
+          const espera = this.esperaParaRepetir(erro, tentativa);
+          return espera === null ? throwError(() => erro) : timer(espera);
+        }
+      })
+    );
+  }
+
   put<T>(endpoint: string, body: any, usuarioId?: number): Observable<T> {
     return this.http.put<T>(`${this.baseUrl}${endpoint}`, body, {
       headers: this.getHeaders(usuarioId)
@@ -47,4 +75,51 @@ export class ApiService {
       headers: this.getHeaders(usuarioId)
     });
   }
+
+  /**
+   * Espera antes da próxima tentativa, ou null para desistir. 429 e 503 vêm dos
+   * limitadores do backend com Retry-After, que é respeitado; sem resposta,
+   * resposta anterior ainda em processamento (409) ou gateway indisponível usam
+   * backoff exponencial.
+   */
+  private esperaParaRepetir(erro: unknown, tentativa: number): number | null {
+    if (!(erro instanceof HttpErrorResponse)) {
+      return null;
+    }
+    const backoff = ApiService.ESPERA_INICIAL_MS * 2 ** (tentativa - 1);
+
+    if (erro.status === 429 || erro.status === 503) {
+      const segundos = Number(erro.headers.get('Retry-After'));
+      const espera = Number.isFinite(segundos) && segundos > 0 ? segundos * 1000 : backoff;
+      return espera <= ApiService.ESPERA_MAXIMA_MS ? espera : null;
+    }
+    if (erro.status === 0 || erro.status === 409 || erro.status === 502 || erro.status === 504) {
+      return backoff;
+    }
+    return null;
+  }
+
+  private carregarDispositivo(): string {
+    try {
+      const salvo = localStorage.getItem(ApiService.DISPOSITIVO_KEY);
+      if (salvo) {
+        return salvo;
+      }
+      const novo = this.gerarChave();
+      localStorage.setItem(ApiService.DISPOSITIVO_KEY, novo);
+      return novo;
+    } catch {
+      // Sem localStorage (modo privado): vale só para esta sessão
+      return this.gerarChave();
+    }
+  }
+
+  private gerarChave(): string {
+    if (typeof crypto.randomUUID === 'function') {
+      return crypto.randomUUID();
+    }
+    // randomUUID só existe em contexto seguro (https ou localhost)
+    const bytes = crypto.getRandomValues(new Uint8Array(16));
+    return Array.from(bytes, b => b.toString(16).padStart(2, '0')).join('');
+  }
 }
@@ -1,7 +1,10 @@
 import { Injectable } from '@angular/core';
+import { HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { ApiService } from './api.service';
-import { Categoria, CategoriaComPictogramas } from '../models/categoria.model';
+import { Categoria } from '../models/categoria.model';
+import { Pictograma } from '../models/pictograma.model';
+import { CursorPageResponse } from '../models/api-response.model';
 
 @Injectable({
   providedIn: 'root'
@@ -19,8 +22,16 @@ export class CategoriaService {
     return this.api.get<Categoria[]>(this.endpoint, usuarioId);
   }
 
-  buscarComPictogramas(categoriaId: number, usuarioId: number): Observable<CategoriaComPictogramas> {
-    return this.api.get<CategoriaComPictogramas>(`${this.endpoint}/${categoriaId}`, usuarioId);
+  buscar(categoriaId: number, usuarioId: number): Observable<Categoria> {
+    return this.api.get<Categoria>(`${this.endpoint}/${categoriaId}`, usuarioId);
+  }
+
+  listarPictogramas(categoriaId: number, usuarioId: number, cursor?: string, limite = 50): Observable<CursorPageResponse<Pictograma>> {
+    let params = new HttpParams().set('limite', limite);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.api.get<CursorPageResponse<Pictograma>>(`${this.endpoint}/${categoriaId}/pictogramas`, usuarioId, params);
   }
 
   atualizar(categoriaId: number, categoria: Partial<Categoria>, usuarioId: number): Observable<Categoria> {
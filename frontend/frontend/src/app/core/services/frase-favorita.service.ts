@@ -1,5 +1,6 @@
 import { Injectable } from '@angular/core';
 import { Observable } from 'rxjs';
+import { HttpParams } from '@angular/common/http';
 import { ApiService } from './api.service';
 import { FraseFavorita } from '../models/frase-favorita.model';
 
@@ -19,8 +20,9 @@ export class FraseFavoritaService {
     return this.api.get<FraseFavorita[]>(this.endpoint, usuarioId);
   }
 
-  listarMaisUsadas(usuarioId: number): Observable<FraseFavorita[]> {
-    return this.api.get<FraseFavorita[]>(`${this.endpoint}/mais-usadas`, usuarioId);
+  listarMaisUsadas(usuarioId: number, limite: number = 10): Observable<FraseFavorita[]> {
+    const params = new HttpParams().set('limite', limite.toString());
+    return this.api.get<FraseFavorita[]>(`${this.endpoint}/mais-usadas`, usuarioId, params);
   }
 
   atualizar(fraseId: number, frase: Partial<FraseFavorita>, usuarioId: number): Observable<FraseFavorita> {
@@ -28,7 +30,7 @@ export class FraseFavoritaService {
   }
 
   registrarUso(fraseId: number, usuarioId: number): Observable<void> {
-    return this.api.post<void>(`${this.endpoint}/${fraseId}/usar`, {}, usuarioId);
+    return this.api.postIdempotente<void>(`${this.endpoint}/${fraseId}/usar`, {}, usuarioId);
   }
 
   desativar(fraseId: number, usuarioId: number): Observable<void> {
@@ -14,7 +14,7 @@ export class MensagemService {
   constructor(private api: ApiService) {}
 
   salvar(mensagem: MensagemCreate, usuarioId: number): Observable<Mensagem> {
-    return this.api.post<Mensagem>(this.endpoint, mensagem, usuarioId);
+    return this.api.postIdempotente<Mensagem>(this.endpoint, mensagem, usuarioId);
   }
 
   listar(usuarioId: number, page: number = 0, size: number = 20): Observable<PageResponse<Mensagem>> {
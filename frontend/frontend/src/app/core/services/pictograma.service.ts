@@ -3,6 +3,7 @@ import { Observable } from 'rxjs';
 import { HttpParams } from '@angular/common/http';
 import { ApiService } from './api.service';
 import { Pictograma, PictogramaCreate } from '../models/pictograma.model';
+import { CursorPageResponse } from '../models/api-response.model';
 
 @Injectable({
   providedIn: 'root'
@@ -25,17 +26,29 @@ export class PictogramaService {
     return this.api.get<Pictograma[]>(`${this.endpoint}/mais-usados`, usuarioId, params);
   }
 
-  buscarPorTexto(termo: string): Observable<Pictograma[]> {
-    const params = new HttpParams().set('termo', termo);
-    return this.api.get<Pictograma[]>(`${this.endpoint}/buscar`, undefined, params);
+  buscarPorTexto(termo: string, usuarioId: number, cursor?: string, limite = 20): Observable<CursorPageResponse<Pictograma>> {
+    let params = new HttpParams()
+      .set('termo', termo)
+      .set('limite', limite.toString());
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.api.get<CursorPageResponse<Pictograma>>(`${this.endpoint}/buscar`, usuarioId, params);
+  }
+
+  autocompletar(prefixo: string, usuarioId: number, limite: number = 8): Observable<Pictograma[]> {
+    const params = new HttpParams()
+      .set('prefixo', prefixo)
+      .set('limite', limite.toString());
+    return this.api.get<Pictograma[]>(`${this.endpoint}/autocompletar`, usuarioId, params);
   }
 
   atualizar(pictogramaId: number, pictograma: PictogramaCreate, usuarioId: number): Observable<Pictograma> {
     return this.api.put<Pictograma>(`${this.endpoint}/${pictogramaId}`, pictograma, usuarioId);
   }
 
-  registrarUso(pictogramaId: number): Observable<void> {
-    return this.api.post<void>(`${this.endpoint}/${pictogramaId}/usar`, {});
+  registrarUso(pictogramaId: number, usuarioId?: number): Observable<void> {
+    return this.api.postIdempotente<void>(`${this.endpoint}/${pictogramaId}/usar`, {}, usuarioId);
   }
 
   desativar(pictogramaId: number, usuarioId: number): Observable<void> {
@@ -282,7 +282,7 @@ export class ComunicacaoComponent implements OnInit, OnDestroy {
     ]);
 
     // Registra uso no backend (fire and forget)
-    this.pictogramaService.registrarUso(pictograma.id)
+    this.pictogramaService.registrarUso(pictograma.id, this.authService.usuarioId ?? undefined)
       .pipe(takeUntil(this.destroy$))
       .subscribe({
         error: err => console.error('Erro ao registrar uso:', err)